@@ -38,12 +38,40 @@ sourceSets {
             srcDirs("src/test/java")
         }
     }
+    // VectorTriggerScanner uses the incubating Vector API; it is compiled on its own so that only this
+    // task needs the module, and it is only loaded, reflectively, when the module is present at runtime
+    create("vector") {
+        java {
+            srcDirs("src/vector/java")
+        }
+        compileClasspath += main.get().output + main.get().compileClasspath
+    }
+}
+
+tasks.named<JavaCompile>("compileVectorJava") {
+    options.compilerArgs.addAll(listOf("--add-modules", "jdk.incubator.vector", "-proc:none"))
+}
+
+tasks.named<Jar>("sourcesJar") {
+    from(sourceSets["vector"].allSource)
+}
+
+sourceSets.test {
+    runtimeClasspath += sourceSets["vector"].output
 }
 
 tasks.compileJava {
     dependsOn.add(tasks.processResources)
 }
 
+// Puts the plugin reflect-config generated by the Log4j annotation processor next to the hand-written
+// native-image metadata, under META-INF/native-image/log4j-generated/<group>/<name>
+tasks.compileJava {
+    options.compilerArgs.addAll(
+        listOf("-Alog4j.graalvm.groupId=${project.group}", "-Alog4j.graalvm.artifactId=${project.name}"),
+    )
+}
+
 
 repositories {
     mavenCentral()
@@ -55,9 +83,12 @@ dependencies {
     api("org.apache.logging.log4j:log4j-core:2.25.3")
     compileOnly("org.apache.logging.log4j:log4j-core:2.25.3")
     annotationProcessor("org.apache.logging.log4j:log4j-core:2.25.3")
+    compileOnly("org.apache.logging.log4j:log4j-layout-template-json:2.25.3")
 
     testImplementation("org.mockito:mockito-core:5.18.0")
     testImplementation("org.junit.jupiter:junit-jupiter:5.10.0")
+    testImplementation("org.apache.logging.log4j:log4j-layout-template-json:2.25.3")
+    testImplementation("com.lmax:disruptor:4.0.0")
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
     api("com.google.re2j:re2j:1.8")
 }
@@ -75,6 +106,7 @@ val javadocJar =
 tasks.getByName<Jar>("jar") {
     enabled = true
     archiveClassifier = ""
+    from(sourceSets["vector"].output)
 }
 
 
@@ -119,4 +151,32 @@ centralPortal {
 
 tasks.withType<Test> {
     useJUnitPlatform()
-}
\ No newline at end of file
+    jvmArgs("--add-modules", "jdk.incubator.vector")
+}
+
+// End-to-end throughput with masking off and on, e.g. gradle loadTest --args="--threads 1,4,32"
+tasks.register<JavaExec>("loadTest") {
+    classpath = sourceSets.test.get().runtimeClasspath
+    mainClass.set("files.logging.LoggingLoadHarness")
+    jvmArgs("--add-modules", "jdk.incubator.vector")
+}
+
+// Class initialisation and first masks, each run in a fresh JVM, e.g. gradle startupBenchmark --args="--runs 20"
+tasks.register<JavaExec>("startupBenchmark") {
+    classpath = sourceSets.test.get().runtimeClasspath
+    mainClass.set("files.logging.StartupBenchmark")
+}
+
+// Masking throughput and allocation with and without ScratchBuffers, on platform and (Java 21+) virtual threads
+tasks.register<JavaExec>("scratchBenchmark") {
+    classpath = sourceSets.test.get().runtimeClasspath
+    mainClass.set("files.logging.ScratchBuffersBenchmark")
+    jvmArgs("--add-modules", "jdk.incubator.vector")
+}
+
+// Caller-thread latency of parameterized messages with and without MaskingMessageFactory
+tasks.register<JavaExec>("deferredMaskingBenchmark") {
+    classpath = sourceSets.test.get().runtimeClasspath
+    mainClass.set("files.logging.DeferredMaskingBenchmark")
+    jvmArgs("--add-modules", "jdk.incubator.vector")
+}
@@ -0,0 +1,96 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 BreninSul
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package files.logging;
+
+import org.apache.logging.log4j.message.AsynchronouslyFormattable;
+import org.apache.logging.log4j.message.Message;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.apache.logging.log4j.util.StringBuilderFormattable;
+
+/**
+ * A message that is formatted and masked the first time it is rendered rather than when
+ * it is logged. It is {@link AsynchronouslyFormattable} and not reusable, so an async
+ * logger puts it in the ring buffer as is and both steps run on the consumer thread.
+ * The masked text is kept, so {@link MaskLogEventFactory} does not mask it again, and it
+ * is what gets serialized. Created by {@link MaskingMessageFactory}, which snapshots the
+ * mutable parameters first.
+ */
+@AsynchronouslyFormattable
+public class DeferredMaskedMessage implements Message, StringBuilderFormattable {
+    private static final long serialVersionUID = 1L;
+
+    private final Message message;
+    private transient volatile String masked;
+
+    public DeferredMaskedMessage(Message message) {
+        this.message = message;
+    }
+
+    @Override
+    public String getFormattedMessage() {
+        String text = masked;
+        if (text == null) {
+            String formatted = message.getFormattedMessage();
+            text = MaskLogEventFactory.IS_ENABLED_MASKING ? MaskLogEventFactory.maskFormatted(formatted) : formatted;
+            masked = text;
+        }
+        return text;
+    }
+
+    @Override
+    public void formatTo(StringBuilder buffer) {
+        buffer.append(getFormattedMessage());
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public String getFormat() {
+        return message.getFormat();
+    }
+
+    @Override
+    public Object[] getParameters() {
+        return message.getParameters();
+    }
+
+    @Override
+    public Throwable getThrowable() {
+        return message.getThrowable();
+    }
+
+    /** The message as logged, before formatting and masking. */
+    public Message unmasked() {
+        return message;
+    }
+
+    private Object writeReplace() {
+        return new SimpleMessage(getFormattedMessage());
+    }
+
+    @Override
+    public String toString() {
+        return getFormattedMessage();
+    }
+}
@@ -0,0 +1,264 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 BreninSul
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package files.logging;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Masks runs of token chars that look random: API keys, session tokens and other
+ * secrets far shorter than the {@link MaskLogEventFactory#MAX_LOGGING_FILE_SIZE} blobs
+ * caught by the file patterns. A run of {@code [0-9A-Za-z+_-]} is masked as a whole when
+ * one of its segments between {@code -} and {@code _} is at least {@link #minLength}
+ * chars long, mixes letters and digits, and the Shannon entropy of a window sliding over
+ * its last {@link #window} chars reaches {@link #threshold} bits per char once the window
+ * holds {@link #minLength}. Scoring segments on their own keeps hyphenated identifiers
+ * such as pod names, artifact coordinates and versions, whose parts are short; UUIDs
+ * among the segments are skipped. A run that starts with one of {@link #prefixes}, the
+ * fixed prefixes of well-known tokens such as {@code ghp_} or {@code sk_live_}, is masked
+ * when at least {@link #MIN_PREFIXED_LENGTH} chars mixing letters and digits follow it.
+ * {@code /} ends a run, so that URL and file paths are scored segment by segment too.
+ * <p>
+ * Runs shorter than {@link #minLength} are skipped as they are found. Longer segments are
+ * scored in one pass: a fixed histogram of symbol counts and the running sum of
+ * {@code c log2 c} over it are updated as each char enters and leaves the window, so
+ * the entropy of every window costs a few table lookups, and the scoring stops at the
+ * first window over the threshold. Nothing is allocated until a run is masked. Hex
+ * digests and UUIDs stay below 4 bits per char and are never masked; random Base62
+ * keys of 40 chars and more are almost always above the default threshold, and about
+ * nine in ten keys of 32 chars are.
+ */
+public class EntropyMasking implements HttpBodyMasking {
+    public static final int DEFAULT_MIN_LENGTH = 32;
+    public static final int DEFAULT_WINDOW = 64;
+    public static final double DEFAULT_THRESHOLD = 4.3;
+    public static final int MIN_PREFIXED_LENGTH = 16;
+    public static final List<String> TOKEN_PREFIXES = Collections.unmodifiableList(Arrays.asList(
+            "ghp_", "gho_", "ghu_", "ghs_", "ghr_", "github_pat_", "glpat-", "xoxb-", "xoxp-", "xoxa-", "xapp-",
+            "sk_live_", "sk_test_", "rk_live_", "rk_test_", "npm_", "pypi-", "hf_"));
+    private static final int SYMBOLS = 65;
+    private static final byte[] SYMBOL = new byte[128];
+    private static final int UUID_LENGTH = 36;
+
+    static {
+        Arrays.fill(SYMBOL, (byte) -1);
+        int symbol = 0;
+        for (char c = '0'; c <= '9'; c++) {
+            SYMBOL[c] = (byte) symbol++;
+        }
+        for (char c = 'A'; c <= 'Z'; c++) {
+            SYMBOL[c] = (byte) symbol++;
+        }
+        for (char c = 'a'; c <= 'z'; c++) {
+            SYMBOL[c] = (byte) symbol++;
+        }
+        SYMBOL['+'] = (byte) symbol++;
+        SYMBOL['_'] = (byte) symbol++;
+        SYMBOL['-'] = (byte) symbol;
+    }
+
+    protected final int minLength;
+    protected final int window;
+    protected final double threshold;
+    protected String emptyBody = "";
+    protected String maskedBody = "<MASKED>";
+    protected Collection<String> prefixes = TOKEN_PREFIXES;
+    protected ScratchBuffers buffers = ScratchBuffers.shared();
+    // xLog2X[c] = c * log2(c) and log2[n] for the counts and sizes a window can have
+    private final double[] xLog2X;
+    private final double[] log2;
+
+    public EntropyMasking() {
+        this(DEFAULT_MIN_LENGTH, DEFAULT_WINDOW, DEFAULT_THRESHOLD);
+    }
+
+    public EntropyMasking(int minLength, int window, double threshold) {
+        if (minLength <= 0 || window < minLength) {
+            throw new IllegalArgumentException("Need 0 < minLength <= window");
+        }
+        this.minLength = minLength;
+        this.window = window;
+        this.threshold = threshold;
+        this.xLog2X = new double[window + 1];
+        this.log2 = new double[window + 1];
+        for (int n = 1; n <= window; n++) {
+            log2[n] = Math.log(n) / Math.log(2);
+            xLog2X[n] = n * log2[n];
+        }
+    }
+
+    @Override
+    public String mask(String message) {
+        if (message == null) {
+            return emptyBody;
+        }
+        int length = message.length();
+        if (length < minLength) {
+            return message;
+        }
+        StringBuilder masked = null;
+        int[] counts = null;
+        int copied = 0;
+        int i = 0;
+        try {
+            while (i < length) {
+                if (symbol(message.charAt(i)) < 0) {
+                    i++;
+                    continue;
+                }
+                int start = i;
+                while (i < length && symbol(message.charAt(i)) >= 0) {
+                    i++;
+                }
+                if (i - start < minLength) {
+                    continue;
+                }
+                if (counts == null) {
+                    counts = buffers.ints(SYMBOLS);
+                    Arrays.fill(counts, 0, SYMBOLS, 0);
+                }
+                if (isSecret(message, start, i, counts)) {
+                    if (masked == null) {
+                        masked = buffers.builder(length);
+                    }
+                    masked.append(message, copied, start).append(maskedBody);
+                    copied = i;
+                }
+            }
+        } finally {
+            if (counts != null) {
+                buffers.release(counts);
+            }
+        }
+        return masked == null ? message : buffers.finish(masked.append(message, copied, length));
+    }
+
+    /**
+     * Whether the run {@code text[start, end)} is to be masked. {@code counts} is all
+     * zeros on entry and on return.
+     */
+    private boolean isSecret(String text, int start, int end, int[] counts) {
+        if (hasTokenPrefix(text, start, end)) {
+            return true;
+        }
+        int i = start;
+        while (i < end) {
+            if (end - i >= UUID_LENGTH && isUuid(text, i, i + UUID_LENGTH)
+                    && (end - i == UUID_LENGTH || isJoiner(text.charAt(i + UUID_LENGTH)))) {
+                i += UUID_LENGTH + 1;
+                continue;
+            }
+            int segmentEnd = i;
+            while (segmentEnd < end && !isJoiner(text.charAt(segmentEnd))) {
+                segmentEnd++;
+            }
+            if (segmentEnd - i >= minLength && isRandom(text, i, segmentEnd, counts)) {
+                return true;
+            }
+            i = segmentEnd + 1;
+        }
+        return false;
+    }
+
+    private boolean hasTokenPrefix(String text, int start, int end) {
+        for (String prefix : prefixes) {
+            int rest = start + prefix.length();
+            if (end - rest >= MIN_PREFIXED_LENGTH && text.startsWith(prefix, start) && mixes(text, rest, end)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Whether {@code text[start, end)} has both letters and digits. */
+    private static boolean mixes(String text, int start, int end) {
+        boolean letters = false;
+        boolean digits = false;
+        for (int i = start; i < end && !(letters && digits); i++) {
+            int symbol = symbol(text.charAt(i));
+            digits |= symbol < 10;
+            letters |= symbol >= 10 && symbol < 62;
+        }
+        return letters && digits;
+    }
+
+    /** Whether a window over the segment {@code text[start, end)} reaches the threshold. */
+    private boolean isRandom(String text, int start, int end, int[] counts) {
+        if (!mixes(text, start, end)) {
+            return false;
+        }
+        double sum = 0;
+        boolean high = false;
+        int i = start;
+        while (i < end && !high) {
+            int symbol = symbol(text.charAt(i));
+            if (i - start >= window) {
+                int left = symbol(text.charAt(i - window));
+                sum -= xLog2X[counts[left]] - xLog2X[counts[left] - 1];
+                counts[left]--;
+            }
+            sum += xLog2X[counts[symbol] + 1] - xLog2X[counts[symbol]];
+            counts[symbol]++;
+            i++;
+            int size = Math.min(i - start, window);
+            // entropy = log2(size) - sum / size
+            high = size >= minLength && size * log2[size] - sum >= threshold * size;
+        }
+        for (int j = Math.max(start, i - window); j < i; j++) {
+            counts[symbol(text.charAt(j))]--;
+        }
+        return high;
+    }
+
+    private static int symbol(char c) {
+        return c < 128 ? SYMBOL[c] : -1;
+    }
+
+    private static boolean isJoiner(char c) {
+        return c == '-' || c == '_';
+    }
+
+    /** Whether {@code text[start, end)} is a UUID: 8-4-4-4-12 hex digits. */
+    static boolean isUuid(String text, int start, int end) {
+        if (end - start != UUID_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < UUID_LENGTH; i++) {
+            char c = text.charAt(start + i);
+            boolean dash = i == 8 || i == 13 || i == 18 || i == 23;
+            if (dash ? c != '-' : Character.digit(c, 16) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public HttpBodyType type() {
+        return HttpBodyType.OTHER;
+    }
+}
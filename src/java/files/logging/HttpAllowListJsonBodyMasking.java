@@ -0,0 +1,340 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 BreninSul
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package files.logging;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Deny-by-default JSON masking: every scalar value (string, number, boolean or null) is
+ * masked unless its key is listed in {@link #fields}. Keys, objects and arrays are kept,
+ * so the shape of the body stays readable. Elements of an array take the key of the
+ * array, and values at the top level of a document have no key and are always masked.
+ * <p>
+ * Each <code>{</code> or <code>[</code> in the message that is followed by a JSON token,
+ * such as a quote, a bracket or a number, starts one streaming pass that keeps a stack
+ * of the containers it is in and writes straight into the output builder; bracketed
+ * free text such as a {@code [main]} thread name is left alone. Where the pass meets
+ * something that is not strict JSON ({@code NaN}, single quotes, an unquoted key),
+ * everything from there to the end of the outermost container is masked and the next
+ * pass starts after it, so no value is let through unparsed.
+ * Allowed keys are looked up in a {@link MaskingKeys} table, so they are normalised the
+ * same way as the deny-list keys of the other maskers.
+ */
+public class HttpAllowListJsonBodyMasking implements HttpBodyMasking {
+    protected Collection<String> fields;
+    protected String emptyBody = "";
+    protected String maskedBody = "<MASKED>";
+    protected MaskingKeys keys;
+    protected ScratchBuffers buffers = ScratchBuffers.shared();
+
+    public HttpAllowListJsonBodyMasking(Collection<String> fields) {
+        this.fields = fields;
+        this.keys = MaskingKeys.of(fields);
+    }
+
+    @Override
+    public String mask(String message) {
+        if (message == null) {
+            return emptyBody;
+        }
+        Scan scan = null;
+        int i = nextContainer(message, 0);
+        while (i >= 0) {
+            if (!startsJson(message, i)) {
+                i = nextContainer(message, i + 1);
+                continue;
+            }
+            if (scan == null) {
+                scan = new Scan(message, keys, maskedBody, buffers);
+            }
+            i = nextContainer(message, scan.document(i));
+        }
+        return scan == null ? message : scan.result();
+    }
+
+    private static int nextContainer(String message, int from) {
+        for (int i = from; i < message.length(); i++) {
+            char c = message.charAt(i);
+            if (c == '{' || c == '[') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /** Whether the container at {@code i} is followed by a token that can start its content. */
+    private static boolean startsJson(String message, int i) {
+        boolean object = message.charAt(i) == '{';
+        int j = i + 1;
+        while (j < message.length() && Character.isWhitespace(message.charAt(j))) {
+            j++;
+        }
+        if (j >= message.length()) {
+            return false;
+        }
+        char c = message.charAt(j);
+        if (c == '"' || c == (object ? '}' : ']')) {
+            return true;
+        }
+        if (object) {
+            return false;
+        }
+        return c == '{' || c == '[' || c == '-' || (c >= '0' && c <= '9')
+                || message.startsWith("true", j) || message.startsWith("false", j) || message.startsWith("null", j);
+    }
+
+    @Override
+    public int triggers() {
+        return TriggerScanner.BRACE | TriggerScanner.BRACKET;
+    }
+
+    @Override
+    public HttpBodyType type() {
+        return HttpBodyType.JSON;
+    }
+
+    /** Parser state for one message; output is only allocated once something is masked. */
+    private static final class Scan {
+        private static final int VALUE = 0;
+        private static final int MEMBER = 1;
+        private static final int AFTER = 2;
+
+        private final String s;
+        private final int length;
+        private final MaskingKeys keys;
+        private final String maskedBody;
+        private final ScratchBuffers buffers;
+        private StringBuilder out;
+        private int copied;
+        private boolean[] arrays = new boolean[16];
+        private boolean[] allowed = new boolean[16];
+
+        Scan(String s, MaskingKeys keys, String maskedBody, ScratchBuffers buffers) {
+            this.s = s;
+            this.length = s.length();
+            this.keys = keys;
+            this.maskedBody = maskedBody;
+            this.buffers = buffers;
+        }
+
+        /**
+         * Masks the JSON value at {@code start} and returns its end. When it is not
+         * well-formed, the rest of it is masked from where parsing failed.
+         */
+        int document(int start) {
+            int depth = 0;
+            boolean allow = false;
+            int mode = VALUE;
+            int i = start;
+            while (true) {
+                if (mode == AFTER && depth == 0) {
+                    return i;
+                }
+                i = skipWhitespace(i);
+                if (i >= length) {
+                    return length;
+                }
+                char c = s.charAt(i);
+                if (mode == VALUE) {
+                    if (c == '{' || c == '[') {
+                        if (depth == arrays.length) {
+                            arrays = Arrays.copyOf(arrays, depth * 2);
+                            allowed = Arrays.copyOf(allowed, depth * 2);
+                        }
+                        arrays[depth] = c == '[';
+                        allowed[depth++] = allow;
+                        i++;
+                        if (c == '{') {
+                            mode = MEMBER;
+                        } else {
+                            i = skipWhitespace(i);
+                            if (i < length && s.charAt(i) == ']') {
+                                depth--;
+                                i++;
+                                mode = AFTER;
+                            }
+                        }
+                    } else if (c == '"') {
+                        int close = stringEnd(i + 1);
+                        if (close < 0) {
+                            return recover(i, depth);
+                        }
+                        if (!allow) {
+                            mask(i + 1, close);
+                        }
+                        i = close + 1;
+                        mode = AFTER;
+                    } else {
+                        int end = scalarEnd(i);
+                        if (end < 0) {
+                            return recover(i, depth);
+                        }
+                        if (!allow) {
+                            mask(i, end);
+                        }
+                        i = end;
+                        mode = AFTER;
+                    }
+                } else if (mode == MEMBER) {
+                    if (c == '}') {
+                        depth--;
+                        i++;
+                        mode = AFTER;
+                    } else if (c == '"') {
+                        int close = stringEnd(i + 1);
+                        if (close < 0) {
+                            return recover(i, depth);
+                        }
+                        int colon = skipWhitespace(close + 1);
+                        if (colon >= length || s.charAt(colon) != ':') {
+                            return recover(i, depth);
+                        }
+                        allow = keys.contains(s, i + 1, close);
+                        i = colon + 1;
+                        mode = VALUE;
+                    } else {
+                        return recover(i, depth);
+                    }
+                } else if (c == ',') {
+                    i++;
+                    if (arrays[depth - 1]) {
+                        allow = allowed[depth - 1];
+                        mode = VALUE;
+                    } else {
+                        mode = MEMBER;
+                    }
+                } else if (c == (arrays[depth - 1] ? ']' : '}')) {
+                    depth--;
+                    i++;
+                } else {
+                    return recover(i, depth);
+                }
+            }
+        }
+
+        /**
+         * Masks from {@code from} up to the bracket closing the outermost container and
+         * returns the index after it, or masks to the end when it is never closed. Brackets
+         * inside strings are not counted; a single quote only opens one where a key or value
+         * would start, so an apostrophe in a word does not.
+         */
+        private int recover(int from, int depth) {
+            char previous = ',';
+            for (int j = from; j < length; j++) {
+                char c = s.charAt(j);
+                if (c == '"' || (c == '\'' && isValueStart(previous))) {
+                    j = quoteEnd(j + 1, c);
+                } else if (c == '{' || c == '[') {
+                    depth++;
+                } else if ((c == '}' || c == ']') && --depth == 0) {
+                    mask(from, j);
+                    return j + 1;
+                }
+                if (c != ' ' && c != '\t' && c != '\n' && c != '\r') {
+                    previous = c;
+                }
+            }
+            mask(from, length);
+            return length;
+        }
+
+        String result() {
+            if (out == null) {
+                return s;
+            }
+            return buffers.finish(out.append(s, copied, length));
+        }
+
+        private void mask(int from, int to) {
+            if (to <= from || from < copied) {
+                return;
+            }
+            if (out == null) {
+                out = buffers.builder(length);
+            }
+            out.append(s, copied, from).append(maskedBody);
+            copied = to;
+        }
+
+        private static boolean isValueStart(char previous) {
+            return previous == ',' || previous == ':' || previous == '{' || previous == '[';
+        }
+
+        /** Index of the quote closing a string whose content starts at {@code i}, or -1. */
+        private int stringEnd(int i) {
+            int end = quoteEnd(i, '"');
+            return end < length ? end : -1;
+        }
+
+        /** Index of the {@code quote} closing a string whose content starts at {@code i}, or the length. */
+        private int quoteEnd(int i, char quote) {
+            for (int j = i; j < length; j++) {
+                char c = s.charAt(j);
+                if (c == '\\') {
+                    j++;
+                } else if (c == quote) {
+                    return j;
+                }
+            }
+            return length;
+        }
+
+        /** End of a number or literal at {@code i}, or -1 when there is none. */
+        private int scalarEnd(int i) {
+            char c = s.charAt(i);
+            if (c == 't' || c == 'n') {
+                return s.startsWith(c == 't' ? "true" : "null", i) ? i + 4 : -1;
+            }
+            if (c == 'f') {
+                return s.startsWith("false", i) ? i + 5 : -1;
+            }
+            if (c != '-' && (c < '0' || c > '9')) {
+                return -1;
+            }
+            int j = i + 1;
+            while (j < length) {
+                char d = s.charAt(j);
+                if ((d >= '0' && d <= '9') || d == '.' || d == 'e' || d == 'E' || d == '+' || d == '-') {
+                    j++;
+                } else {
+                    break;
+                }
+            }
+            return j;
+        }
+
+        private int skipWhitespace(int i) {
+            while (i < length) {
+                char c = s.charAt(i);
+                if (c != ' ' && c != '\t' && c != '\n' && c != '\r') {
+                    break;
+                }
+                i++;
+            }
+            return i;
+        }
+    }
+}
@@ -28,4 +28,12 @@ public interface HttpBodyMasking {
     String mask(String message);
 
     HttpBodyType type();
+
+    /**
+     * {@link TriggerScanner} kinds of which at least one must occur in a message for
+     * this masker to change it, or {@link TriggerScanner#ANY} to always run it.
+     */
+    default int triggers() {
+        return TriggerScanner.ANY;
+    }
 }
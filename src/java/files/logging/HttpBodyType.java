@@ -27,5 +27,6 @@ package files.logging;
 public enum HttpBodyType {
     JSON,
     FORM,
+    MULTIPART,
     OTHER
 }
@@ -0,0 +1,410 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 BreninSul
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package files.logging;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Masks JSON values selected by path expressions such as {@code $.auth.token} or
+ * {@code $.items[*].card.number}, so a key can be hidden in one place and left visible
+ * in another ({@code $.pagination.token}).
+ * <p>
+ * Every <code>{</code> or <code>[</code> in the message starts a streaming parse that keeps a
+ * stack of the containers it is in, together with their {@link JsonPathAutomaton}
+ * state, so entering a member or element costs one automaton step. Subtrees no path
+ * can reach any more are skipped without tracking. Matched values are replaced the way
+ * {@link HttpRegexJsonBodyMasking} does: the content of a string, object or array, or
+ * the whole scalar. Values are masked as soon as they are read, and a matched value that is
+ * never terminated is masked up to the end, so a body truncated by the logger is still
+ * masked; text that is not JSON is left untouched. After a document that is not
+ * well-formed, the next parse starts past its closing bracket, so containers inside it are
+ * never taken for documents of their own. When its bracket is never closed, as for a
+ * stray <code>{</code> in free text, the next parse starts where it stopped being JSON.
+ */
+public class HttpJsonPathBodyMasking implements HttpBodyMasking {
+    protected Collection<String> paths;
+    protected String emptyBody = "";
+    protected String maskedBody = "<MASKED>";
+    protected JsonPathAutomaton automaton;
+    protected ScratchBuffers buffers = ScratchBuffers.shared();
+
+    public HttpJsonPathBodyMasking(Collection<String> paths) {
+        this.paths = paths;
+        this.automaton = new JsonPathAutomaton(paths);
+    }
+
+    @Override
+    public String mask(String message) {
+        if (message == null) {
+            return emptyBody;
+        }
+        if (automaton.isEmpty()) {
+            return message;
+        }
+        Scan scan = null;
+        int i = nextContainer(message, 0);
+        while (i >= 0) {
+            if (scan == null) {
+                scan = new Scan(message, automaton, maskedBody, buffers);
+            }
+            i = nextContainer(message, scan.document(i));
+        }
+        return scan == null ? message : scan.result();
+    }
+
+    private static int nextContainer(String message, int from) {
+        for (int i = from; i < message.length(); i++) {
+            char c = message.charAt(i);
+            if (c == '{' || c == '[') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int triggers() {
+        return TriggerScanner.BRACE | TriggerScanner.BRACKET;
+    }
+
+    @Override
+    public HttpBodyType type() {
+        return HttpBodyType.JSON;
+    }
+
+    /** Parser state for one message; output is only allocated once something is masked. */
+    private static final class Scan {
+        private static final int VALUE = 0;
+        private static final int MEMBER = 1;
+        private static final int AFTER = 2;
+
+        private final String s;
+        private final int length;
+        private final JsonPathAutomaton automaton;
+        private final String maskedBody;
+        private final ScratchBuffers buffers;
+        private StringBuilder out;
+        private int copied;
+        private int[] states;
+        private int[] indices;
+        private boolean[] arrays;
+        private int[] openers;
+        private int[] ends;
+        private int openerCount;
+        private int openerCursor;
+
+        Scan(String s, JsonPathAutomaton automaton, String maskedBody, ScratchBuffers buffers) {
+            this.s = s;
+            this.length = s.length();
+            this.automaton = automaton;
+            this.maskedBody = maskedBody;
+            this.buffers = buffers;
+            // pooled arrays may be longer; indices and arrays must be at least as long as states
+            this.states = buffers.ints(16);
+            this.indices = buffers.ints(states.length);
+            this.arrays = new boolean[states.length];
+        }
+
+        /**
+         * Parses the JSON value at {@code start} and returns its end, or where the brackets
+         * open at the point it stops being well-formed are closed, or that point when they
+         * never are.
+         */
+        int document(int start) {
+            int depth = 0;
+            int state = automaton.initial();
+            int mode = VALUE;
+            int i = start;
+            while (true) {
+                if (mode == AFTER && depth == 0) {
+                    return i;
+                }
+                i = skipWhitespace(i);
+                if (i >= length) {
+                    return length;
+                }
+                char c = s.charAt(i);
+                if (mode == VALUE) {
+                    if (state == JsonPathAutomaton.DEAD || automaton.accepts(state)) {
+                        int end = valueEnd(i);
+                        if (end < 0 && state != JsonPathAutomaton.DEAD && (c == '"' || c == '{' || c == '[')) {
+                            // truncated: mask what is there rather than leave it
+                            mask(i + 1, length);
+                            return length;
+                        }
+                        if (end < 0) {
+                            return skip(start, i, depth);
+                        }
+                        if (state != JsonPathAutomaton.DEAD) {
+                            boolean scalar = c != '"' && c != '{' && c != '[';
+                            mask(scalar ? i : i + 1, scalar ? end : end - 1);
+                        }
+                        i = end;
+                        mode = AFTER;
+                    } else if (c == '{' || c == '[') {
+                        if (depth == states.length) {
+                            grow();
+                        }
+                        states[depth] = state;
+                        indices[depth] = 0;
+                        arrays[depth++] = c == '[';
+                        i = skipWhitespace(i + 1);
+                        if (c == '[') {
+                            if (i < length && s.charAt(i) == ']') {
+                                depth--;
+                                i++;
+                                mode = AFTER;
+                            } else {
+                                state = automaton.index(states[depth - 1], 0);
+                            }
+                        } else {
+                            mode = MEMBER;
+                        }
+                    } else {
+                        int end = valueEnd(i);
+                        if (end < 0) {
+                            return skip(start, i, depth);
+                        }
+                        i = end;
+                        mode = AFTER;
+                    }
+                } else if (mode == MEMBER) {
+                    if (c == '}') {
+                        depth--;
+                        i++;
+                        mode = AFTER;
+                    } else if (c == '"') {
+                        int close = stringEnd(i + 1);
+                        if (close < 0) {
+                            return skip(start, i, depth);
+                        }
+                        int colon = skipWhitespace(close + 1);
+                        if (colon >= length || s.charAt(colon) != ':') {
+                            return skip(start, i, depth);
+                        }
+                        state = automaton.name(states[depth - 1], s, i + 1, close);
+                        i = colon + 1;
+                        mode = VALUE;
+                    } else {
+                        return skip(start, i, depth);
+                    }
+                } else if (c == ',') {
+                    i++;
+                    if (arrays[depth - 1]) {
+                        state = automaton.index(states[depth - 1], ++indices[depth - 1]);
+                        mode = VALUE;
+                    } else {
+                        mode = MEMBER;
+                    }
+                } else if (c == (arrays[depth - 1] ? ']' : '}')) {
+                    depth--;
+                    i++;
+                } else {
+                    return skip(start, i, depth);
+                }
+            }
+        }
+
+        /**
+         * Index after the bracket closing the outermost container, counting brackets from
+         * {@code from} outside strings, or {@code from} when the container at {@code start}
+         * is never closed.
+         */
+        private int skip(int start, int from, int depth) {
+            if (openers != null) {
+                return knownEnd(start, from);
+            }
+            for (int j = from; j < length; j++) {
+                char c = s.charAt(j);
+                if (c == '"') {
+                    j = stringEnd(j + 1);
+                    if (j < 0) {
+                        break;
+                    }
+                } else if (c == '{' || c == '[') {
+                    depth++;
+                } else if ((c == '}' || c == ']') && --depth <= 0) {
+                    return j + 1;
+                }
+            }
+            findEnds(from);
+            return from;
+        }
+
+        /** {@link #skip} once the rest of the message has been counted by {@link #findEnds}. */
+        private int knownEnd(int start, int from) {
+            while (openerCursor < openerCount && openers[openerCursor] < start) {
+                openerCursor++;
+            }
+            if (openerCursor < openerCount && openers[openerCursor] == start && ends[openerCursor] > 0) {
+                return ends[openerCursor];
+            }
+            return from;
+        }
+
+        /**
+         * Records where each bracket from {@code from} on is closed, in one pass, so that
+         * after a bracket that is never closed the documents started later are not each
+         * counted to the end of the message again.
+         */
+        private void findEnds(int from) {
+            openers = buffers.ints(16);
+            ends = buffers.ints(openers.length);
+            int[] open = buffers.ints(16);
+            int depth = 0;
+            for (int j = from; j < length; j++) {
+                char c = s.charAt(j);
+                if (c == '"') {
+                    j = stringEnd(j + 1);
+                    if (j < 0) {
+                        break;
+                    }
+                } else if (c == '{' || c == '[') {
+                    if (openerCount == openers.length || openerCount == ends.length) {
+                        openers = Arrays.copyOf(openers, openerCount * 2);
+                        ends = Arrays.copyOf(ends, openerCount * 2);
+                    }
+                    if (depth == open.length) {
+                        open = Arrays.copyOf(open, depth * 2);
+                    }
+                    openers[openerCount] = j;
+                    ends[openerCount] = -1;
+                    open[depth++] = openerCount++;
+                } else if ((c == '}' || c == ']') && depth > 0) {
+                    ends[open[--depth]] = j + 1;
+                }
+            }
+            buffers.release(open);
+        }
+
+        String result() {
+            buffers.release(states);
+            buffers.release(indices);
+            if (openers != null) {
+                buffers.release(openers);
+                buffers.release(ends);
+            }
+            if (out == null) {
+                return s;
+            }
+            return buffers.finish(out.append(s, copied, length));
+        }
+
+        private void mask(int from, int to) {
+            if (to <= from || from < copied) {
+                return;
+            }
+            if (out == null) {
+                out = buffers.builder(length);
+            }
+            out.append(s, copied, from).append(maskedBody);
+            copied = to;
+        }
+
+        private void grow() {
+            states = Arrays.copyOf(states, states.length * 2);
+            indices = Arrays.copyOf(indices, indices.length * 2);
+            arrays = Arrays.copyOf(arrays, arrays.length * 2);
+        }
+
+        /** End of the value at {@code i}, skipping nested containers without tracking paths, or -1. */
+        private int valueEnd(int i) {
+            char c = s.charAt(i);
+            if (c == '"') {
+                int close = stringEnd(i + 1);
+                return close < 0 ? -1 : close + 1;
+            }
+            if (c != '{' && c != '[') {
+                return scalarEnd(i);
+            }
+            int nesting = 0;
+            for (int j = i; j < length; j++) {
+                char d = s.charAt(j);
+                if (d == '"') {
+                    j = stringEnd(j + 1);
+                    if (j < 0) {
+                        return -1;
+                    }
+                } else if (d == '{' || d == '[') {
+                    nesting++;
+                } else if (d == '}' || d == ']') {
+                    if (--nesting == 0) {
+                        return j + 1;
+                    }
+                }
+            }
+            return -1;
+        }
+
+        /** Index of the quote closing a string whose content starts at {@code i}, or -1. */
+        private int stringEnd(int i) {
+            for (int j = i; j < length; j++) {
+                char c = s.charAt(j);
+                if (c == '\\') {
+                    j++;
+                } else if (c == '"') {
+                    return j;
+                }
+            }
+            return -1;
+        }
+
+        /** End of a number or literal at {@code i}, or -1 when there is none. */
+        private int scalarEnd(int i) {
+            char c = s.charAt(i);
+            if (c == 't' || c == 'n') {
+                return s.startsWith(c == 't' ? "true" : "null", i) ? i + 4 : -1;
+            }
+            if (c == 'f') {
+                return s.startsWith("false", i) ? i + 5 : -1;
+            }
+            if (c != '-' && (c < '0' || c > '9')) {
+                return -1;
+            }
+            int j = i + 1;
+            while (j < length) {
+                char d = s.charAt(j);
+                if ((d >= '0' && d <= '9') || d == '.' || d == 'e' || d == 'E' || d == '+' || d == '-') {
+                    j++;
+                } else {
+                    break;
+                }
+            }
+            return j;
+        }
+
+        private int skipWhitespace(int i) {
+            while (i < length) {
+                char c = s.charAt(i);
+                if (c != ' ' && c != '\t' && c != '\n' && c != '\r') {
+                    break;
+                }
+                i++;
+            }
+            return i;
+        }
+    }
+}
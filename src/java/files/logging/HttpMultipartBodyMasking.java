@@ -0,0 +1,209 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 BreninSul
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package files.logging;
+
+import java.util.Collection;
+
+/**
+ * Masks {@code multipart/form-data} bodies. The boundary is detected once, from the
+ * {@code boundary=} parameter when the content type is logged or else from the first
+ * delimiter line, and parts are then reached by searching for the delimiter, so part
+ * bodies are never walked character by character.
+ * <ul>
+ * <li>values of fields whose name ends with a key from {@link #fields} are replaced by {@link #maskedBody};</li>
+ * <li>file parts (with a {@code filename}) are replaced by {@code <PART:name,length>}.</li>
+ * </ul>
+ */
+public class HttpMultipartBodyMasking implements HttpBodyMasking {
+    protected Collection<String> fields;
+    protected String emptyBody = "";
+    protected String maskedBody = "<MASKED>";
+    protected boolean maskFiles = true;
+    protected MaskingKeys keys;
+    protected ScratchBuffers buffers = ScratchBuffers.shared();
+
+    public HttpMultipartBodyMasking(Collection<String> fields) {
+        this.fields = fields;
+        this.keys = MaskingKeys.of(fields);
+    }
+
+    @Override
+    public String mask(String message) {
+        if (message == null) {
+            return emptyBody;
+        }
+        int disposition = message.indexOf("form-data");
+        if (disposition < 0) {
+            return message;
+        }
+        String delimiter = delimiter(message, disposition);
+        if (delimiter == null) {
+            return message;
+        }
+        int length = message.length();
+        StringBuilder maskedMessage = null;
+        int copied = 0;
+        int part = message.indexOf(delimiter);
+        // blank lines ending part headers, kept across parts so each is searched for once
+        int crlf = 0;
+        int lf = 0;
+        while (part >= 0) {
+            int headersStart = part + delimiter.length();
+            if (message.startsWith("--", headersStart)) {
+                break;
+            }
+            if (crlf >= 0 && crlf < headersStart) {
+                crlf = message.indexOf("\r\n\r\n", headersStart);
+            }
+            if (lf >= 0 && lf < headersStart) {
+                lf = message.indexOf("\n\n", headersStart);
+            }
+            int headersEnd = crlf < 0 ? lf : lf < 0 || crlf < lf ? crlf : lf;
+            if (headersEnd < 0) {
+                break;
+            }
+            int bodyStart = bodyStart(message, headersEnd);
+            int next = message.indexOf(delimiter, bodyStart);
+            int bodyEnd = next < 0 ? length : lineBreakStart(message, bodyStart, next);
+            boolean file = paramStart(message, headersStart, headersEnd, "filename") >= 0;
+            int nameStart = paramStart(message, headersStart, headersEnd, "name");
+            int nameEnd = nameStart < 0 ? -1 : paramEnd(message, nameStart, headersEnd);
+            if (bodyEnd > bodyStart) {
+                if (file && maskFiles) {
+                    maskedMessage = start(maskedMessage, message).append(message, copied, bodyStart)
+                            .append("<PART:");
+                    if (nameStart >= 0) {
+                        maskedMessage.append(message, nameStart, nameEnd);
+                    }
+                    maskedMessage.append(',').append(bodyEnd - bodyStart).append('>');
+                    copied = bodyEnd;
+                } else if (!file && nameStart >= 0 && keys.endsWithKey(message, nameStart, nameEnd)) {
+                    maskedMessage = start(maskedMessage, message).append(message, copied, bodyStart)
+                            .append(maskedBody);
+                    copied = bodyEnd;
+                }
+            }
+            part = next;
+        }
+        if (maskedMessage == null) {
+            return message;
+        }
+        return buffers.finish(maskedMessage.append(message, copied, length));
+    }
+
+    private StringBuilder start(StringBuilder maskedMessage, String message) {
+        return maskedMessage == null ? buffers.builder(message.length()) : maskedMessage;
+    }
+
+    /**
+     * Returns {@code "--" + boundary}, taken from a {@code boundary=} parameter or from the
+     * delimiter line in front of the first part headers, or null.
+     */
+    protected static String delimiter(String message, int disposition) {
+        int param = message.indexOf("boundary=");
+        if (param >= 0) {
+            int start = param + "boundary=".length();
+            int end;
+            if (start < message.length() && message.charAt(start) == '"') {
+                start++;
+                end = message.indexOf('"', start);
+            } else {
+                end = start;
+                while (end < message.length() && !isBoundaryEnd(message.charAt(end))) {
+                    end++;
+                }
+            }
+            if (end > start) {
+                return "--" + message.substring(start, end);
+            }
+        }
+        int line = message.lastIndexOf("--", disposition);
+        while (line > 0 && message.charAt(line - 1) != '\n') {
+            line = message.lastIndexOf("--", line - 1);
+        }
+        if (line < 0) {
+            return null;
+        }
+        int end = line + 2;
+        while (end < disposition && !isBoundaryEnd(message.charAt(end))) {
+            end++;
+        }
+        return end > line + 2 ? message.substring(line, end) : null;
+    }
+
+    private static boolean isBoundaryEnd(char c) {
+        return c == '\r' || c == '\n' || c == ';' || c == ',' || Character.isWhitespace(c);
+    }
+
+    private static int bodyStart(String message, int headersEnd) {
+        return message.startsWith("\r\n\r\n", headersEnd) ? headersEnd + 4 : headersEnd + 2;
+    }
+
+    private static int lineBreakStart(String message, int from, int delimiter) {
+        int end = delimiter;
+        if (end > from && message.charAt(end - 1) == '\n') {
+            end--;
+            if (end > from && message.charAt(end - 1) == '\r') {
+                end--;
+            }
+        }
+        return end;
+    }
+
+    /**
+     * Returns the start of the value of the {@code name=} header parameter in
+     * {@code message[from, to)}, past an opening quote, or -1.
+     */
+    protected static int paramStart(String message, int from, int to, String name) {
+        for (int i = from; i + name.length() < to; i++) {
+            if (!message.startsWith(name, i)) {
+                continue;
+            }
+            int eq = i + name.length();
+            boolean boundary = i == 0 || !Character.isLetterOrDigit(message.charAt(i - 1));
+            if (boundary && message.charAt(eq) == '=') {
+                return eq + 1 < to && message.charAt(eq + 1) == '"' ? eq + 2 : eq + 1;
+            }
+        }
+        return -1;
+    }
+
+    private static int paramEnd(String message, int start, int to) {
+        int i = start;
+        while (i < to) {
+            char c = message.charAt(i);
+            if (c == '"' || c == ';' || c == '\r' || c == '\n') {
+                break;
+            }
+            i++;
+        }
+        return i;
+    }
+
+    @Override
+    public HttpBodyType type() {
+        return HttpBodyType.MULTIPART;
+    }
+}
@@ -24,29 +24,26 @@
 
 package files.logging;
 
-import com.google.re2j.Matcher;
-import com.google.re2j.Pattern;
+import java.nio.ByteBuffer;
+import java.util.Collection;
 
-import java.util.*;
-import java.util.stream.Collectors;
-
-public class HttpRegexFormBodyMasking implements HttpBodyMasking {
+/**
+ * Masks {@code key=value} parameters whose key ends with one of the configured fields.
+ * The text is walked once from one {@code '='} to the next; the key in front of each
+ * {@code '='} is looked up backwards in a {@link MaskingKeys} table and the value runs
+ * up to the next {@code '&'} or whitespace. UTF-8 bytes are masked the same way by
+ * {@link #mask(ByteBuffer, ByteBuffer)}.
+ */
+public class HttpRegexFormBodyMasking implements HttpBodyMasking, Utf8Masking {
     protected Collection<String> fields;
     protected String emptyBody = "";
     protected String maskedBody = "<MASKED>";
-    protected Map<String, Collection<Pattern>> regexList;
+    protected MaskingKeys keys;
+    protected ScratchBuffers buffers = ScratchBuffers.shared();
 
     public HttpRegexFormBodyMasking(Collection<String> fields) {
         this.fields = fields;
-        Map<String, Collection<Pattern>> map = new HashMap<>();
-        for (String f : fields) {
-            List<Pattern> patterns = new ArrayList<>();
-            // Improved pattern to handle parameters in free text (stop at & or whitespace)
-            // Groups: 1=key, 2=delimiter, 3=value
-            patterns.add(Pattern.compile("(" + f + ")(=)([^&\\s]*)"));
-            map.put(f, patterns);
-        }
-        this.regexList = map;
+        this.keys = MaskingKeys.of(fields);
     }
 
     @Override
@@ -54,47 +51,50 @@ public class HttpRegexFormBodyMasking implements HttpBodyMasking {
         if (message == null) {
             return emptyBody;
         }
-        StringBuilder maskedMessage = new StringBuilder(message);
+        if (message.indexOf('=') < 0) {
+            return message;
+        }
+        MaskedRanges.Chars out = new MaskedRanges.Chars(message, maskedBody, buffers);
+        scan(message, out);
+        return out.result();
+    }
 
-        List<LoggingRange> ranges = regexList.entrySet().stream()
-                .filter(entry -> message.contains(entry.getKey() + "="))
-                .flatMap(entry -> entry.getValue().stream())
-                .flatMap(regex -> {
-                    Matcher matcher = regex.matcher(maskedMessage);
-                    List<LoggingRange> matches = new ArrayList<>();
-                    while (matcher.find()) {
-                        int groupStart = matcher.start(3);
-                        int groupEnd = matcher.end(3) - 1;
-                        if (groupEnd >= groupStart) {
-                            matches.add(new LoggingRange(groupStart, groupEnd));
-                        }
-                    }
-                    return matches.stream();
-                })
-                .sorted((r1, r2) -> Integer.compare(r2.last, r1.last)) // Sort by last desc
-                .collect(Collectors.toList());
+    @Override
+    public void mask(ByteBuffer src, ByteBuffer dst) {
+        MaskedRanges.Bytes out = new MaskedRanges.Bytes(src, maskedBody, dst);
+        scan(out.text(), out);
+        out.finish();
+    }
 
-        // Filter ranges contained in others
-        List<LoggingRange> finalRanges = new ArrayList<>();
-        for (LoggingRange range : ranges) {
-            boolean isContained = false;
-            for (LoggingRange r : ranges) {
-                if (r != range && r.first <= range.first && r.last >= range.last) {
-                    isContained = true;
-                    break;
+    /** Reports the values of sensitive parameters in {@code text} to {@code out}. */
+    protected void scan(CharSequence text, MaskedRanges out) {
+        int length = text.length();
+        int eq = MaskedRanges.indexOf(text, '=', 0);
+        while (eq >= 0) {
+            int valueStart = eq + 1;
+            int next = valueStart;
+            if (keys.endsWithKey(text, out.copied(), eq)) {
+                int valueEnd = valueStart;
+                while (valueEnd < length && !isValueEnd(text.charAt(valueEnd))) {
+                    valueEnd++;
+                }
+                if (valueEnd > valueStart) { // Handle empty values
+                    out.mask(valueStart, valueEnd);
+                    next = valueEnd;
                 }
             }
-            if (!isContained) {
-                finalRanges.add(range);
-            }
+            eq = next < length ? MaskedRanges.indexOf(text, '=', next) : -1;
         }
+    }
 
-        // Apply replacements
-        for (LoggingRange range : finalRanges) {
-            maskedMessage.replace(range.first, range.last + 1, maskedBody);
-        }
+    protected static boolean isValueEnd(char c) {
+        // same set as [^&\s] in RE2/J
+        return c == '&' || c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == '\f';
+    }
 
-        return maskedMessage.toString();
+    @Override
+    public int triggers() {
+        return TriggerScanner.EQUALS;
     }
 
     @Override
@@ -24,38 +24,52 @@
 
 package files.logging;
 
-import com.google.re2j.Matcher;
-import com.google.re2j.Pattern;
+import java.nio.ByteBuffer;
+import java.util.Collection;
 
-import java.util.*;
-import java.util.stream.Collectors;
+/**
+ * Masks values of JSON fields listed in {@link #fields}.
+ * <p>
+ * Values keep the shapes of the original expressions:
+ * <pre>
+ * key:    "((?:\\.|[^"\\])*)"\s*:\s*
+ * string: "((\\.|[^"\\])*)"
+ * array:  \[(\s*(?:"(?:\\.|[^"\\])*"\s*,?\s*)*)\]
+ * object: \{([^{}]*(?:\{[^{}]*\}[^{}]*)*)\}
+ * scalar: ([+-]?\d*(?:\.\d+)?(?:[eE][+-]?\d+)?|true|false)\s*(,|\})
+ * </pre>
+ * but any {@code "key": value} pair is matched in one left-to-right pass and the key is
+ * looked up in a {@link MaskingKeys} table, so the number of configured fields does not
+ * change the number of scans. Masked ranges come out in text order without overlaps,
+ * so the result is built with appends only.
+ * <p>
+ * JSON serialised into a string one or more times, e.g.
+ * {@code {"payload":"{\"password\":\"x\"}"}}, is matched in the same pass. The escape
+ * depth of a quote follows from the backslashes in front of it: a quote at depth
+ * {@code d} is preceded by a run of {@code k * 2^(d+1) + 2^d - 1} backslashes, so the
+ * depth is the number of trailing one bits of the run length. Keys and values are only
+ * paired with quotes of the same depth, and string values holding deeper quotes are
+ * scanned again from their first character.
+ * <p>
+ * UTF-8 bytes are masked by the same scan through {@link #mask(ByteBuffer, ByteBuffer)};
+ * the scanning helpers take any {@link CharSequence} for that reason.
+ */
+public class HttpRegexJsonBodyMasking implements HttpBodyMasking, Utf8Masking {
+    protected static final int NO_MATCH = -1;
+    protected static final int STRING = 0;
+    protected static final int ARRAY = 1;
+    protected static final int OBJECT = 2;
+    protected static final int SCALAR = 3;
 
-public class HttpRegexJsonBodyMasking implements HttpBodyMasking {
     protected Collection<String> fields;
     protected String emptyBody = "";
     protected String maskedBody = "<MASKED>";
-    protected Map<String, Collection<Pattern>> regexList;
+    protected MaskingKeys keys;
+    protected ScratchBuffers buffers = ScratchBuffers.shared();
 
     public HttpRegexJsonBodyMasking(Collection<String> fields) {
         this.fields = fields;
-        Map<String, Collection<Pattern>> map = new HashMap<>();
-        for (String f : fields) {
-            List<Pattern> patterns = new ArrayList<>();
-            // int, float or bool:
-            // "($f)"\s*:\s*([+-]?\d*(?:\.\d+)?(?:[eE][+-]?\d+)?|true|false)\s*(,|\})
-            patterns.add(Pattern.compile(
-                    "\"(" + f + ")\"\\s*:\\s*([+-]?\\d*(?:\\.\\d+)?(?:[eE][+-]?\\d+)?|true|false)\\s*(,|\\})"));
-            // string: "($f)"\s*:\s*"((\\.|[^"\\])*)"
-            patterns.add(Pattern.compile("\"(" + f + ")\"\\s*:\\s*\"((\\\\.|[^\"\\\\])*)\""));
-            // array: "($f)"\s*:\s*\[(\s*(?:"(?:\\.|[^"\\])*"\s*,?\s*)*)\]
-            patterns.add(
-                    Pattern.compile("\"(" + f + ")\"\\s*:\\s*\\[(\\s*(?:\"(?:\\\\.|[^\"\\\\])*\"\\s*,?\\s*)*)\\]"));
-            // object: "($f)"\s*:\s*\{([^{}]*(?:\{[^{}]*\}[^{}]*)*)\}
-            patterns.add(Pattern.compile("\"(" + f + ")\"\\s*:\\s*\\{([^{}]*(?:\\{[^{}]*\\}[^{}]*)*)\\}"));
-
-            map.put(f, patterns);
-        }
-        this.regexList = map;
+        this.keys = MaskingKeys.of(fields);
     }
 
     @Override
@@ -63,46 +77,267 @@ public class HttpRegexJsonBodyMasking implements HttpBodyMasking {
         if (message == null) {
             return emptyBody;
         }
-        StringBuilder maskedMessage = new StringBuilder(message);
-
-        List<LoggingRange> ranges = regexList.entrySet().stream()
-                .filter(entry -> message.contains("\"" + entry.getKey() + "\""))
-                .flatMap(entry -> entry.getValue().stream())
-                .flatMap(regex -> {
-                    Matcher matcher = regex.matcher(maskedMessage);
-                    List<LoggingRange> matches = new ArrayList<>();
-                    while (matcher.find()) {
-                        // Kotlin: matcher.start(2), end(2)-1
-                        int groupStart = matcher.start(2);
-                        int groupEnd = matcher.end(2) - 1;
-                        matches.add(new LoggingRange(groupStart, groupEnd));
+        if (message.indexOf('"') < 0) {
+            return message;
+        }
+        MaskedRanges.Chars out = new MaskedRanges.Chars(message, maskedBody, buffers);
+        scan(message, out);
+        return out.result();
+    }
+
+    @Override
+    public void mask(ByteBuffer src, ByteBuffer dst) {
+        MaskedRanges.Bytes out = new MaskedRanges.Bytes(src, maskedBody, dst);
+        scan(out.text(), out);
+        out.finish();
+    }
+
+    /** Reports the values of sensitive keys in {@code text} to {@code out}. */
+    protected void scan(CharSequence text, MaskedRanges out) {
+        int length = text.length();
+        // value range of the current match: [0] start, [1] end, [2] end of the whole match
+        int[] value = new int[3];
+        int quote = MaskedRanges.indexOf(text, '"', 0);
+        while (quote >= 0) {
+            int level = level(text, quote);
+            int keyEnd = stringEnd(text, quote + 1, level);
+            if (keyEnd < 0 && level == 0) {
+                break;
+            }
+            int next = keyEnd < 0 ? quote + 1 : keyEnd;
+            int colon = keyEnd < 0 ? length : skipWhitespace(text, keyEnd + 1);
+            if (colon < length && text.charAt(colon) == ':') {
+                int type = matchValue(text, skipWhitespace(text, colon + 1), level, value);
+                if (type != NO_MATCH) {
+                    if (keys.contains(text, quote + 1, contentEnd(keyEnd, level))) {
+                        // empty values are masked too, as the regular expressions did
+                        out.mask(value[0], value[1]);
+                        next = value[2];
+                    } else if (type == ARRAY || type == OBJECT) {
+                        // not sensitive: keep looking for sensitive keys inside the container
+                        next = value[0];
+                    } else if (type == STRING && MaskedRanges.lastIndexOf(text, '"', value[1] - 1) >= value[0]) {
+                        // not sensitive, but holds escaped JSON one level deeper
+                        next = value[0];
+                    } else {
+                        next = value[2];
                     }
-                    return matches.stream();
-                })
-                .sorted((r1, r2) -> Integer.compare(r2.last, r1.last)) // Sort by last desc
-                .collect(Collectors.toList());
-
-        // Filter ranges contained in others
-        List<LoggingRange> finalRanges = new ArrayList<>();
-        for (LoggingRange range : ranges) {
-            boolean isContained = false;
-            for (LoggingRange r : ranges) {
-                if (r != range && r.first <= range.first && r.last >= range.last) {
-                    isContained = true;
+                }
+            }
+            quote = next < length ? MaskedRanges.indexOf(text, '"', next) : -1;
+        }
+    }
+
+    /**
+     * Matches a value of escape depth {@code level} starting at {@code from}, storing its
+     * masked range and the end of the match in {@code value}. Returns the value type, or
+     * {@link #NO_MATCH}.
+     */
+    protected static int matchValue(CharSequence s, int from, int level, int[] value) {
+        int length = s.length();
+        if (from >= length) {
+            return NO_MATCH;
+        }
+        char c = s.charAt(from);
+        if (c == '"' || c == '\\') {
+            int quote = quoteAt(s, from, level);
+            if (quote < 0) {
+                return NO_MATCH;
+            }
+            int end = stringEnd(s, quote + 1, level);
+            if (end < 0) {
+                return NO_MATCH;
+            }
+            return range(value, quote + 1, contentEnd(end, level), end + 1, STRING);
+        }
+        if (c == '[') {
+            int i = from + 1;
+            while (true) {
+                i = skipWhitespace(s, i);
+                int quote = quoteAt(s, i, level);
+                if (quote < 0) {
                     break;
                 }
+                int end = stringEnd(s, quote + 1, level);
+                if (end < 0) {
+                    return NO_MATCH;
+                }
+                i = skipWhitespace(s, end + 1);
+                if (i < length && s.charAt(i) == ',') {
+                    i++;
+                }
+            }
+            if (i < length && s.charAt(i) == ']') {
+                return range(value, from + 1, i, i + 1, ARRAY);
+            }
+        } else if (c == '{') {
+            int depth = 1;
+            for (int i = from + 1; i < length; i++) {
+                char ch = s.charAt(i);
+                if (ch == '{') {
+                    if (depth == 2) {
+                        return NO_MATCH;
+                    }
+                    depth++;
+                } else if (ch == '}') {
+                    if (--depth == 0) {
+                        return range(value, from + 1, i, i + 1, OBJECT);
+                    }
+                }
+            }
+            return NO_MATCH;
+        }
+        int end = numberEnd(s, from);
+        int terminator = skipWhitespace(s, end);
+        if (terminator >= length || (s.charAt(terminator) != ',' && s.charAt(terminator) != '}')) {
+            if (startsWith(s, from, "true")) {
+                end = from + 4;
+            } else if (startsWith(s, from, "false")) {
+                end = from + 5;
+            } else {
+                return NO_MATCH;
             }
-            if (!isContained) {
-                finalRanges.add(range);
+            terminator = skipWhitespace(s, end);
+            if (terminator >= length || (s.charAt(terminator) != ',' && s.charAt(terminator) != '}')) {
+                return NO_MATCH;
             }
         }
+        return range(value, from, end, terminator + 1, SCALAR);
+    }
 
-        // Apply replacements
-        for (LoggingRange range : finalRanges) {
-            maskedMessage.replace(range.first, range.last + 1, maskedBody);
+    private static boolean startsWith(CharSequence s, int from, String prefix) {
+        if (from + prefix.length() > s.length()) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            if (s.charAt(from + i) != prefix.charAt(i)) {
+                return false;
+            }
         }
+        return true;
+    }
+
+    private static int range(int[] value, int start, int end, int matchEnd, int type) {
+        value[0] = start;
+        value[1] = end;
+        value[2] = matchEnd;
+        return type;
+    }
 
-        return maskedMessage.toString();
+    /**
+     * Escape depth of the quote at {@code quote}: trailing one bits of the length of the
+     * backslash run in front of it.
+     */
+    protected static int level(CharSequence s, int quote) {
+        int run = 0;
+        while (quote - run - 1 >= 0 && s.charAt(quote - run - 1) == '\\') {
+            run++;
+        }
+        return Integer.numberOfTrailingZeros(~run);
+    }
+
+    /**
+     * Returns the index of the quote of depth {@code level} whose backslashes start at
+     * {@code from}, or -1.
+     */
+    protected static int quoteAt(CharSequence s, int from, int level) {
+        int run = 0;
+        int length = s.length();
+        while (from + run < length && s.charAt(from + run) == '\\') {
+            run++;
+        }
+        if (from + run < length && s.charAt(from + run) == '"' && run == (1 << level) - 1) {
+            return from + run;
+        }
+        return -1;
+    }
+
+    /**
+     * End of the content of a string whose closing quote of depth {@code level} is at
+     * {@code quote}, i.e. the start of the backslashes escaping that quote.
+     */
+    protected static int contentEnd(int quote, int level) {
+        return quote - ((1 << level) - 1);
+    }
+
+    /**
+     * Returns the index of the quote closing a string of depth {@code level} whose content
+     * starts at {@code from}, or -1 when the text or an enclosing string ends first.
+     */
+    protected static int stringEnd(CharSequence s, int from, int level) {
+        int length = s.length();
+        int run = 0;
+        for (int i = from; i < length; i++) {
+            char c = s.charAt(i);
+            if (c == '\\') {
+                run++;
+            } else {
+                if (c == '"') {
+                    int quoteLevel = Integer.numberOfTrailingZeros(~run);
+                    if (quoteLevel == level) {
+                        return i;
+                    }
+                    if (quoteLevel < level) {
+                        return -1;
+                    }
+                }
+                run = 0;
+            }
+        }
+        return -1;
+    }
+
+    // [+-]?\d*(?:\.\d+)?(?:[eE][+-]?\d+)?
+    protected static int numberEnd(CharSequence s, int from) {
+        int length = s.length();
+        int i = from;
+        if (i < length && (s.charAt(i) == '+' || s.charAt(i) == '-')) {
+            i++;
+        }
+        i = digitsEnd(s, i);
+        if (i + 1 < length && s.charAt(i) == '.' && isDigit(s.charAt(i + 1))) {
+            i = digitsEnd(s, i + 1);
+        }
+        if (i < length && (s.charAt(i) == 'e' || s.charAt(i) == 'E')) {
+            int j = i + 1;
+            if (j < length && (s.charAt(j) == '+' || s.charAt(j) == '-')) {
+                j++;
+            }
+            if (j < length && isDigit(s.charAt(j))) {
+                i = digitsEnd(s, j);
+            }
+        }
+        return i;
+    }
+
+    private static int digitsEnd(CharSequence s, int from) {
+        int i = from;
+        while (i < s.length() && isDigit(s.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    // \s in RE2/J
+    protected static int skipWhitespace(CharSequence s, int from) {
+        int i = from;
+        while (i < s.length()) {
+            char c = s.charAt(i);
+            if (c != ' ' && c != '\t' && c != '\n' && c != '\r' && c != '\f') {
+                break;
+            }
+            i++;
+        }
+        return i;
+    }
+
+    @Override
+    public int triggers() {
+        return TriggerScanner.QUOTE;
     }
 
     @Override
@@ -26,4 +26,12 @@ package files.logging;
 
 public interface HttpUriMasking {
     String mask(String uri);
+
+    /**
+     * {@link TriggerScanner} kinds of which at least one must occur in a message for
+     * this masker to change it, or {@link TriggerScanner#ANY} to always run it.
+     */
+    default int triggers() {
+        return TriggerScanner.ANY;
+    }
 }
@@ -0,0 +1,297 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 BreninSul
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package files.logging;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Masks XML and SOAP bodies: the text content of elements and the values of attributes
+ * whose local name (namespace prefix ignored, so {@code <wsse:Password>} matches
+ * {@code password}) is listed in {@link #fields}.
+ * <p>
+ * The body is walked forward once from one {@code '<'} to the next, without building a
+ * DOM or running regular expressions, so cost stays linear for envelopes of any size.
+ * The content of a sensitive element, including nested elements, is replaced as a whole.
+ * A sensitive name is only taken for an element when its end tag follows, so generic
+ * types such as {@code Optional<Token>} in free text are left alone; a name found
+ * without an end tag is not searched for again in the same message.
+ */
+public class HttpXmlBodyMasking implements HttpBodyMasking {
+    protected Collection<String> fields;
+    protected String emptyBody = "";
+    protected String maskedBody = "<MASKED>";
+    protected MaskingKeys keys;
+    protected ScratchBuffers buffers = ScratchBuffers.shared();
+
+    public HttpXmlBodyMasking(Collection<String> fields) {
+        this.fields = fields;
+        this.keys = MaskingKeys.of(fields);
+    }
+
+    @Override
+    public String mask(String message) {
+        if (message == null) {
+            return emptyBody;
+        }
+        int i = message.indexOf('<');
+        if (i < 0) {
+            return message;
+        }
+        int length = message.length();
+        StringBuilder maskedMessage = null;
+        List<String> unclosed = null;
+        int copied = 0;
+        while (i >= 0 && i + 1 < length) {
+            int skipped = skipMarkup(message, i);
+            if (skipped >= 0) {
+                i = message.indexOf('<', skipped);
+                continue;
+            }
+            if (message.charAt(i + 1) == '/') {
+                i = message.indexOf('<', i + 2);
+                continue;
+            }
+            int nameStart = i + 1;
+            int nameEnd = nameEnd(message, nameStart);
+            if (nameEnd == nameStart) {
+                i = message.indexOf('<', i + 1);
+                continue;
+            }
+            boolean sensitiveElement = keys.contains(message, localStart(message, nameStart, nameEnd), nameEnd);
+            // attributes
+            int j = nameEnd;
+            boolean selfClosing = false;
+            boolean closed = false;
+            while (j < length) {
+                j = skipWhitespace(message, j);
+                if (j >= length) {
+                    break;
+                }
+                char c = message.charAt(j);
+                if (c == '>') {
+                    closed = true;
+                    j++;
+                    break;
+                }
+                if (c == '/' && j + 1 < length && message.charAt(j + 1) == '>') {
+                    closed = true;
+                    selfClosing = true;
+                    j += 2;
+                    break;
+                }
+                int attrEnd = nameEnd(message, j);
+                if (attrEnd == j) {
+                    // not attribute syntax, so the '<' was free text such as count<limit
+                    break;
+                }
+                boolean sensitiveAttr = keys.contains(message, localStart(message, j, attrEnd), attrEnd);
+                j = skipWhitespace(message, attrEnd);
+                if (j >= length || message.charAt(j) != '=') {
+                    continue;
+                }
+                j = skipWhitespace(message, j + 1);
+                if (j >= length) {
+                    break;
+                }
+                char quote = message.charAt(j);
+                if (quote != '"' && quote != '\'') {
+                    continue;
+                }
+                int valueEnd = message.indexOf(quote, j + 1);
+                if (valueEnd < 0) {
+                    valueEnd = length;
+                }
+                if (sensitiveAttr && valueEnd > j + 1) {
+                    maskedMessage = append(maskedMessage, message, copied, j + 1);
+                    copied = valueEnd;
+                }
+                j = valueEnd + 1;
+            }
+            if (!closed) {
+                i = j < length ? message.indexOf('<', j) : -1;
+                continue;
+            }
+            if (sensitiveElement && !selfClosing) {
+                String name = message.substring(nameStart, nameEnd);
+                int contentEnd = unclosed != null && unclosed.contains(name) ? -1 : closingTag(message, j, name);
+                if (contentEnd >= 0) {
+                    if (contentEnd > j) {
+                        maskedMessage = append(maskedMessage, message, copied, j);
+                        copied = contentEnd;
+                    }
+                    i = contentEnd;
+                    continue;
+                }
+                if (unclosed == null) {
+                    unclosed = new ArrayList<>();
+                }
+                unclosed.add(name);
+            }
+            i = j < length ? message.indexOf('<', j) : -1;
+        }
+        if (maskedMessage == null) {
+            return message;
+        }
+        return buffers.finish(maskedMessage.append(message, copied, length));
+    }
+
+    private StringBuilder append(StringBuilder maskedMessage, String message, int from, int to) {
+        if (maskedMessage == null) {
+            maskedMessage = buffers.builder(message.length());
+        }
+        return maskedMessage.append(message, from, to).append(maskedBody);
+    }
+
+    /**
+     * Returns the index of the {@code '<'} of the end tag closing the element {@code name}
+     * whose content starts at {@code from}, or -1 when no end tag follows. Elements of the
+     * same name nested in it are counted; when they leave it unbalanced, the last end tag
+     * found is used, so the content is masked too much rather than too little.
+     */
+    protected static int closingTag(String s, int from, String name) {
+        int length = s.length();
+        int depth = 1;
+        int close = -1;
+        int i = from;
+        while ((i = s.indexOf(name, i)) >= 0) {
+            int end = i + name.length();
+            if (end < length && isNameChar(s.charAt(end))) {
+                i = end;
+                continue;
+            }
+            if (i >= 2 && s.charAt(i - 1) == '/' && s.charAt(i - 2) == '<') {
+                close = i - 2;
+                if (--depth == 0) {
+                    return close;
+                }
+            } else if (i >= 1 && s.charAt(i - 1) == '<') {
+                int tag = tagEnd(s, end);
+                if (tag < 0) {
+                    break;
+                }
+                if (s.charAt(tag - 1) != '/') {
+                    depth++;
+                }
+            }
+            i = end;
+        }
+        return close;
+    }
+
+    /**
+     * Skips comments, CDATA sections, processing instructions and declarations starting at
+     * {@code i}, returning the index after them, or -1 when there is none at {@code i}.
+     */
+    protected static int skipMarkup(String s, int i) {
+        char c = s.charAt(i + 1);
+        if (c == '!') {
+            if (s.startsWith("<!--", i)) {
+                return endOf(s, "-->", i + 4);
+            }
+            if (s.startsWith("<![CDATA[", i)) {
+                return endOf(s, "]]>", i + 9);
+            }
+            return endOf(s, ">", i + 2);
+        }
+        if (c == '?') {
+            return endOf(s, "?>", i + 2);
+        }
+        return -1;
+    }
+
+    private static int endOf(String s, String terminator, int from) {
+        int end = s.indexOf(terminator, from);
+        return end < 0 ? s.length() : end + terminator.length();
+    }
+
+    /**
+     * Returns the index of the {@code '>'} ending a tag, skipping quoted attribute values, or -1.
+     */
+    protected static int tagEnd(String s, int from) {
+        int length = s.length();
+        for (int i = from; i < length; i++) {
+            char c = s.charAt(i);
+            if (c == '>') {
+                return i;
+            }
+            if (c == '"' || c == '\'') {
+                i = s.indexOf(c, i + 1);
+                if (i < 0) {
+                    return -1;
+                }
+            }
+        }
+        return -1;
+    }
+
+    protected static int nameEnd(String s, int from) {
+        int i = from;
+        int length = s.length();
+        if (i < length && !isNameStart(s.charAt(i))) {
+            return from;
+        }
+        while (i < length && isNameChar(s.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static int localStart(String s, int nameStart, int nameEnd) {
+        for (int i = nameEnd - 1; i >= nameStart; i--) {
+            if (s.charAt(i) == ':') {
+                return i + 1;
+            }
+        }
+        return nameStart;
+    }
+
+    private static boolean isNameStart(char c) {
+        return Character.isLetter(c) || c == '_' || c == ':';
+    }
+
+    private static boolean isNameChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == ':' || c == '-' || c == '.';
+    }
+
+    private static int skipWhitespace(String s, int from) {
+        int i = from;
+        while (i < s.length() && Character.isWhitespace(s.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    @Override
+    public int triggers() {
+        return TriggerScanner.LESS_THAN;
+    }
+
+    @Override
+    public HttpBodyType type() {
+        return HttpBodyType.OTHER;
+    }
+}
@@ -0,0 +1,345 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 BreninSul
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package files.logging;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Deterministic automaton compiled from a set of JSON path expressions.
+ * <p>
+ * Supported steps are {@code .name}, {@code ['name']}, {@code [n]}, the wildcards
+ * {@code .*} and {@code [*]} (matching any member or element) and the recursive
+ * descent {@code ..} in front of any of them, e.g. {@code $.auth.token},
+ * {@code $.items[*].card.number} or {@code $..password}. The expressions are compiled
+ * into a non-deterministic trie, which is then determinised up front, so a streaming
+ * parser advances by exactly one table lookup per member or element it enters:
+ * a hash probe over the member name, or a short scan of the indices the state names.
+ * Member names are matched exactly, as written in the path.
+ */
+public class JsonPathAutomaton {
+    /** State reached once no expression can match any more; it never leaves itself. */
+    public static final int DEAD = -1;
+
+    private final int size;
+    private final boolean[] accepting;
+    private final int[] other;
+    private final String[][] nameKeys;
+    private final int[][] nameTargets;
+    private final int[][] indexKeys;
+    private final int[][] indexTargets;
+
+    public JsonPathAutomaton(Collection<String> paths) {
+        List<Node> nodes = new ArrayList<>();
+        Node root = new Node(nodes);
+        int added = 0;
+        for (String path : paths) {
+            compile(path, root, nodes).accept = true;
+            added++;
+        }
+        this.size = added;
+
+        Map<BitSet, Integer> states = new HashMap<>();
+        List<BitSet> sets = new ArrayList<>();
+        Deque<Integer> pending = new ArrayDeque<>();
+        BitSet initial = new BitSet();
+        initial.set(root.id);
+        intern(closure(initial, nodes), states, sets, pending);
+
+        // states are numbered in discovery order and processed first-in first-out,
+        // so the state taken from the queue is always the next one to be tabled
+        List<Integer> defaults = new ArrayList<>();
+        List<Map<String, Integer>> names = new ArrayList<>();
+        List<Map<Integer, Integer>> indices = new ArrayList<>();
+        while (!pending.isEmpty()) {
+            int state = pending.poll();
+            BitSet set = sets.get(state);
+            Set<String> labels = new LinkedHashSet<>();
+            Set<Integer> positions = new LinkedHashSet<>();
+            for (int id = set.nextSetBit(0); id >= 0; id = set.nextSetBit(id + 1)) {
+                labels.addAll(nodes.get(id).names.keySet());
+                positions.addAll(nodes.get(id).indices.keySet());
+            }
+            Map<String, Integer> byName = new LinkedHashMap<>();
+            for (String label : labels) {
+                byName.put(label, intern(step(set, nodes, label, null), states, sets, pending));
+            }
+            Map<Integer, Integer> byIndex = new LinkedHashMap<>();
+            for (Integer position : positions) {
+                byIndex.put(position, intern(step(set, nodes, null, position), states, sets, pending));
+            }
+            defaults.add(intern(step(set, nodes, null, null), states, sets, pending));
+            names.add(byName);
+            indices.add(byIndex);
+        }
+
+        int count = sets.size();
+        this.accepting = new boolean[count];
+        this.other = new int[count];
+        this.nameKeys = new String[count][];
+        this.nameTargets = new int[count][];
+        this.indexKeys = new int[count][];
+        this.indexTargets = new int[count][];
+        for (int state = 0; state < count; state++) {
+            BitSet set = sets.get(state);
+            for (int id = set.nextSetBit(0); id >= 0; id = set.nextSetBit(id + 1)) {
+                accepting[state] |= nodes.get(id).accept;
+            }
+            other[state] = defaults.get(state);
+            Map<String, Integer> byName = names.get(state);
+            int capacity = 2;
+            while (capacity < byName.size() * 2) {
+                capacity <<= 1;
+            }
+            nameKeys[state] = new String[capacity];
+            nameTargets[state] = new int[capacity];
+            for (Map.Entry<String, Integer> entry : byName.entrySet()) {
+                int slot = spread(entry.getKey().hashCode()) & (capacity - 1);
+                while (nameKeys[state][slot] != null) {
+                    slot = (slot + 1) & (capacity - 1);
+                }
+                nameKeys[state][slot] = entry.getKey();
+                nameTargets[state][slot] = entry.getValue();
+            }
+            Map<Integer, Integer> byIndex = indices.get(state);
+            indexKeys[state] = new int[byIndex.size()];
+            indexTargets[state] = new int[byIndex.size()];
+            int i = 0;
+            for (Map.Entry<Integer, Integer> entry : byIndex.entrySet()) {
+                indexKeys[state][i] = entry.getKey();
+                indexTargets[state][i++] = entry.getValue();
+            }
+        }
+    }
+
+    /** State of the document root. */
+    public int initial() {
+        return size == 0 ? DEAD : 0;
+    }
+
+    /** Whether a value reached in {@code state} matches one of the expressions. */
+    public boolean accepts(int state) {
+        return state != DEAD && accepting[state];
+    }
+
+    /** State of the member of an object in {@code state} whose name is {@code text[start, end)}. */
+    public int name(int state, CharSequence text, int start, int end) {
+        if (state == DEAD) {
+            return DEAD;
+        }
+        String[] keys = nameKeys[state];
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + text.charAt(i);
+        }
+        int mask = keys.length - 1;
+        for (int slot = spread(hash) & mask; keys[slot] != null; slot = (slot + 1) & mask) {
+            String key = keys[slot];
+            if (key.length() == end - start && regionEquals(key, text, start)) {
+                return nameTargets[state][slot];
+            }
+        }
+        return other[state];
+    }
+
+    /** State of the element at {@code index} of an array in {@code state}. */
+    public int index(int state, int index) {
+        if (state == DEAD) {
+            return DEAD;
+        }
+        int[] keys = indexKeys[state];
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] == index) {
+                return indexTargets[state][i];
+            }
+        }
+        return other[state];
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private static boolean regionEquals(String key, CharSequence text, int start) {
+        for (int i = 0; i < key.length(); i++) {
+            if (key.charAt(i) != text.charAt(start + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private static int intern(BitSet set, Map<BitSet, Integer> states, List<BitSet> sets, Deque<Integer> pending) {
+        if (set.isEmpty()) {
+            return DEAD;
+        }
+        Integer state = states.get(set);
+        if (state == null) {
+            state = sets.size();
+            states.put(set, state);
+            sets.add(set);
+            pending.add(state);
+        }
+        return state;
+    }
+
+    /** Nodes reached from {@code set} on a member {@code name}, an element {@code index}, or any other step. */
+    private static BitSet step(BitSet set, List<Node> nodes, String name, Integer index) {
+        BitSet next = new BitSet();
+        for (int id = set.nextSetBit(0); id >= 0; id = set.nextSetBit(id + 1)) {
+            Node node = nodes.get(id);
+            Node target = name != null ? node.names.get(name) : index != null ? node.indices.get(index) : null;
+            if (target != null) {
+                next.set(target.id);
+            }
+            if (node.any != null) {
+                next.set(node.any.id);
+            }
+            if (node.loop) {
+                next.set(node.id);
+            }
+        }
+        return closure(next, nodes);
+    }
+
+    private static BitSet closure(BitSet set, List<Node> nodes) {
+        for (int id = set.nextSetBit(0); id >= 0; id = set.nextSetBit(id + 1)) {
+            Node descendant = nodes.get(id).descendant;
+            if (descendant != null) {
+                set.set(descendant.id);
+            }
+        }
+        return set;
+    }
+
+    private static Node compile(String path, Node root, List<Node> nodes) {
+        if (path == null || !path.startsWith("$")) {
+            throw new IllegalArgumentException("JSON path must start with '$': " + path);
+        }
+        Node current = root;
+        int length = path.length();
+        int i = 1;
+        while (i < length) {
+            char c = path.charAt(i);
+            if (c == '.') {
+                i++;
+                if (i < length && path.charAt(i) == '.') {
+                    i++;
+                    current = current.descendant(nodes);
+                    if (i < length && path.charAt(i) == '[') {
+                        continue;
+                    }
+                }
+                int end = i;
+                while (end < length && path.charAt(end) != '.' && path.charAt(end) != '[') {
+                    end++;
+                }
+                if (end == i) {
+                    throw new IllegalArgumentException("Empty member name in JSON path: " + path);
+                }
+                String name = path.substring(i, end);
+                current = "*".equals(name) ? current.any(nodes) : current.name(name, nodes);
+                i = end;
+            } else if (c == '[') {
+                int close = path.indexOf(']', i);
+                if (close < 0) {
+                    throw new IllegalArgumentException("Unclosed '[' in JSON path: " + path);
+                }
+                String step = path.substring(i + 1, close).trim();
+                if ("*".equals(step)) {
+                    current = current.any(nodes);
+                } else if (step.length() >= 2 && (step.charAt(0) == '\'' || step.charAt(0) == '"')
+                        && step.charAt(step.length() - 1) == step.charAt(0)) {
+                    current = current.name(step.substring(1, step.length() - 1), nodes);
+                } else {
+                    try {
+                        current = current.index(Integer.parseInt(step), nodes);
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("Unsupported step [" + step + "] in JSON path: " + path, e);
+                    }
+                }
+                i = close + 1;
+            } else {
+                throw new IllegalArgumentException("Unexpected '" + c + "' in JSON path: " + path);
+            }
+        }
+        return current;
+    }
+
+    private static final class Node {
+        final int id;
+        final Map<String, Node> names = new LinkedHashMap<>();
+        final Map<Integer, Node> indices = new LinkedHashMap<>();
+        Node any;
+        Node descendant;
+        boolean loop;
+        boolean accept;
+
+        Node(List<Node> nodes) {
+            this.id = nodes.size();
+            nodes.add(this);
+        }
+
+        Node name(String name, List<Node> nodes) {
+            return names.computeIfAbsent(name, n -> new Node(nodes));
+        }
+
+        Node index(int index, List<Node> nodes) {
+            return indices.computeIfAbsent(index, n -> new Node(nodes));
+        }
+
+        Node any(List<Node> nodes) {
+            if (any == null) {
+                any = new Node(nodes);
+            }
+            return any;
+        }
+
+        Node descendant(List<Node> nodes) {
+            if (descendant == null) {
+                descendant = new Node(nodes);
+                descendant.loop = true;
+            }
+            return descendant;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 BreninSul
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package files.logging;
+
+import com.google.re2j.Pattern;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Mutable, insertion-ordered set of RE2/J patterns that compiles its initial regular
+ * expressions on first access. Used for the default {@code SENSITIVE_PATTERNS} and
+ * {@code FILE_PATTERNS}, so loading {@link MaskLogEventFactory} neither loads RE2/J nor
+ * compiles anything until a message needs the patterns, and a set replaced at startup is
+ * never compiled at all.
+ */
+final class LazyPatternSet extends AbstractSet<Pattern> {
+    private final String[] regexes;
+    private volatile Set<Pattern> patterns;
+    private volatile boolean modified;
+
+    LazyPatternSet(String... regexes) {
+        this.regexes = regexes;
+    }
+
+    /**
+     * Whether the set still holds exactly the patterns it was created with; true before they are compiled.
+     */
+    boolean isPristine() {
+        return !modified;
+    }
+
+    /** Compiles the patterns now if they are not yet. */
+    void compile() {
+        patterns();
+    }
+
+    boolean isCompiled() {
+        return patterns != null;
+    }
+
+    private Set<Pattern> patterns() {
+        Set<Pattern> compiled = patterns;
+        if (compiled == null) {
+            synchronized (this) {
+                compiled = patterns;
+                if (compiled == null) {
+                    compiled = new LinkedHashSet<>();
+                    for (String regex : regexes) {
+                        compiled.add(Pattern.compile(regex));
+                    }
+                    patterns = compiled;
+                }
+            }
+        }
+        return compiled;
+    }
+
+    @Override
+    public Iterator<Pattern> iterator() {
+        Iterator<Pattern> iterator = patterns().iterator();
+        return new Iterator<Pattern>() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public Pattern next() {
+                return iterator.next();
+            }
+
+            @Override
+            public void remove() {
+                iterator.remove();
+                modified = true;
+            }
+        };
+    }
+
+    @Override
+    public int size() {
+        return patterns().size();
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return patterns().contains(o);
+    }
+
+    @Override
+    public boolean add(Pattern pattern) {
+        boolean added = patterns().add(pattern);
+        modified |= added;
+        return added;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        boolean removed = patterns().remove(o);
+        modified |= removed;
+        return removed;
+    }
+}
@@ -0,0 +1,444 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 BreninSul
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package files.logging;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFileAttributes;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.UnaryOperator;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Re-masks log files that were already written, e.g. after the masking keys changed.
+ * <pre>
+ * java -cp ... files.logging.LogScrubber [--out DIR] [--threads N] [--chunk-size BYTES] FILE...
+ * </pre>
+ * Plain files are memory-mapped and {@code .gz} files (as rolled by the bundled
+ * {@code RollingFile} appender) are decompressed as a stream. The input is cut at line
+ * boundaries into chunks that are masked line by line on a {@link ForkJoinPool}, and
+ * the chunks are written in their original order, compressed again for {@code .gz}
+ * input. At most two chunks per worker are in flight, so memory does not grow with the
+ * file. Each line is masked on its own by {@link MaskLogEventFactory#maskText(String)},
+ * so messages spanning several lines are masked one line at a time. A line that is not
+ * valid UTF-8 is masked as Latin-1, so its bytes are written back as they were apart
+ * from the masked values, and such lines are counted in the {@link Stats}.
+ * <p>
+ * With {@code --out}, each file is written under the output directory at its path
+ * relative to the deepest directory holding all inputs, so inputs with the same name in
+ * different directories do not overwrite each other.
+ */
+public class LogScrubber {
+    public static final int DEFAULT_CHUNK_SIZE = 4 << 20;
+
+    protected final ForkJoinPool pool;
+    protected final UnaryOperator<String> masking;
+    protected final int chunkSize;
+
+    public LogScrubber(ForkJoinPool pool) {
+        this(pool, MaskLogEventFactory::maskText, DEFAULT_CHUNK_SIZE);
+    }
+
+    public LogScrubber(ForkJoinPool pool, UnaryOperator<String> masking, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+        }
+        this.pool = pool;
+        this.masking = masking;
+        this.chunkSize = chunkSize;
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path out = Paths.get("scrubbed");
+        int threads = Runtime.getRuntime().availableProcessors();
+        int chunkSize = DEFAULT_CHUNK_SIZE;
+        List<Path> inputs = new ArrayList<>();
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--out":
+                        out = Paths.get(args[++i]);
+                        break;
+                    case "--threads":
+                        threads = Integer.parseInt(args[++i]);
+                        break;
+                    case "--chunk-size":
+                        chunkSize = Integer.parseInt(args[++i]);
+                        break;
+                    default:
+                        inputs.add(Paths.get(args[i]));
+                }
+            }
+        } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+            inputs.clear();
+        }
+        if (inputs.isEmpty()) {
+            System.err.println("Usage: LogScrubber [--out DIR] [--threads N] [--chunk-size BYTES] FILE...");
+            System.exit(2);
+        }
+        List<Path> outputs;
+        try {
+            outputs = outputs(inputs, out);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(2);
+            return;
+        }
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            LogScrubber scrubber = new LogScrubber(pool, MaskLogEventFactory::maskText, chunkSize);
+            Stats total = new Stats();
+            for (int i = 0; i < inputs.size(); i++) {
+                Path input = inputs.get(i);
+                Files.createDirectories(outputs.get(i).toAbsolutePath().getParent());
+                Stats stats = scrubber.scrub(input, outputs.get(i));
+                System.out.println(input + ": " + stats);
+                total.add(stats);
+            }
+            if (inputs.size() > 1) {
+                System.out.println("total: " + total);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Output paths for {@code inputs} under {@code out}: each input's path relative to the
+     * deepest directory holding all of them.
+     *
+     * @throws IllegalArgumentException when the same input is listed twice
+     */
+    static List<Path> outputs(List<Path> inputs, Path out) {
+        Path root = null;
+        for (Path input : inputs) {
+            Path parent = input.toAbsolutePath().normalize().getParent();
+            while (root != null && !parent.startsWith(root)) {
+                root = root.getParent();
+            }
+            if (root == null) {
+                root = parent;
+            }
+        }
+        List<Path> outputs = new ArrayList<>(inputs.size());
+        Set<Path> seen = new HashSet<>();
+        for (Path input : inputs) {
+            Path output = out.resolve(root.relativize(input.toAbsolutePath().normalize()).toString());
+            if (!seen.add(output)) {
+                throw new IllegalArgumentException("Input listed twice: " + input);
+            }
+            outputs.add(output);
+        }
+        return outputs;
+    }
+
+    /**
+     * Masks {@code input} into {@code output}; {@code .gz} files are read and written compressed.
+     * The output is written to a temporary file next to it and moved into place once
+     * complete, so {@code output} may be {@code input} itself and is never left half written.
+     * The permissions of the file being replaced, or else of the input, are kept.
+     */
+    public Stats scrub(Path input, Path output) throws IOException {
+        Path directory = output.toAbsolutePath().getParent();
+        Path temp = Files.createTempFile(directory, output.getFileName().toString(), ".tmp");
+        try {
+            Stats stats = scrubTo(input, temp);
+            copyPermissions(Files.exists(output) ? output : input, temp);
+            Files.move(temp, output, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return stats;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /** Copies the POSIX permissions, and the group where allowed, of {@code from} onto {@code to}. */
+    private static void copyPermissions(Path from, Path to) throws IOException {
+        PosixFileAttributeView source = Files.getFileAttributeView(from, PosixFileAttributeView.class);
+        PosixFileAttributeView target = Files.getFileAttributeView(to, PosixFileAttributeView.class);
+        if (source == null || target == null) {
+            return;
+        }
+        PosixFileAttributes attributes = source.readAttributes();
+        target.setPermissions(attributes.permissions());
+        try {
+            target.setGroup(attributes.group());
+        } catch (IOException e) {
+            // only the owner's groups can be set; the group of the directory is kept then
+        }
+    }
+
+    private Stats scrubTo(Path input, Path output) throws IOException {
+        boolean gzip = input.getFileName().toString().endsWith(".gz");
+        Stats stats = new Stats();
+        long start = System.nanoTime();
+        try (OutputStream out = gzip
+                ? new GZIPOutputStream(Files.newOutputStream(output), 1 << 16)
+                : new BufferedOutputStream(Files.newOutputStream(output), 1 << 16)) {
+            Deque<ForkJoinTask<Chunk>> inFlight = new ArrayDeque<>();
+            int maxInFlight = Math.max(2, pool.getParallelism() * 2);
+            if (gzip) {
+                try (InputStream in = new GZIPInputStream(new BufferedInputStream(Files.newInputStream(input), 1 << 16))) {
+                    byte[] buffer = new byte[chunkSize];
+                    int filled = 0;
+                    int read;
+                    while ((read = in.read(buffer, filled, buffer.length - filled)) >= 0) {
+                        filled += read;
+                        if (filled < buffer.length) {
+                            continue;
+                        }
+                        int cut = lastLineEnd(buffer, filled);
+                        if (cut < 0) {
+                            // one line longer than the chunk: grow until it ends
+                            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                            continue;
+                        }
+                        submit(ByteBuffer.wrap(Arrays.copyOf(buffer, cut)), inFlight, maxInFlight, out, stats);
+                        System.arraycopy(buffer, cut, buffer, 0, filled - cut);
+                        filled -= cut;
+                        if (buffer.length > chunkSize && filled < chunkSize) {
+                            buffer = Arrays.copyOf(buffer, chunkSize);
+                        }
+                    }
+                    if (filled > 0) {
+                        submit(ByteBuffer.wrap(Arrays.copyOf(buffer, filled)), inFlight, maxInFlight, out, stats);
+                    }
+                }
+            } else {
+                try (FileChannel channel = FileChannel.open(input, StandardOpenOption.READ)) {
+                    long size = channel.size();
+                    long position = 0;
+                    long length = chunkSize;
+                    while (position < size) {
+                        long end = Math.min(size, position + length);
+                        ByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, position, end - position);
+                        int cut = end == size ? mapped.limit() : lastLineEnd(mapped);
+                        if (cut < 0) {
+                            length *= 2;
+                            continue;
+                        }
+                        submit(mapped.limit(cut), inFlight, maxInFlight, out, stats);
+                        position += cut;
+                        length = chunkSize;
+                    }
+                }
+            }
+            while (!inFlight.isEmpty()) {
+                write(inFlight.poll().join(), out, stats);
+            }
+        }
+        stats.nanos = System.nanoTime() - start;
+        return stats;
+    }
+
+    private void submit(ByteBuffer bytes, Deque<ForkJoinTask<Chunk>> inFlight, int maxInFlight,
+                        OutputStream out, Stats stats) throws IOException {
+        inFlight.add(pool.submit(() -> mask(bytes)));
+        if (inFlight.size() >= maxInFlight) {
+            write(inFlight.poll().join(), out, stats);
+        }
+    }
+
+    private static void write(Chunk chunk, OutputStream out, Stats stats) throws IOException {
+        out.write(chunk.bytes);
+        stats.lines += chunk.lines;
+        stats.invalidLines += chunk.invalidLines;
+        stats.bytes += chunk.inputBytes;
+    }
+
+    /** Masks the lines of one chunk, keeping the line terminators as they were. */
+    private Chunk mask(ByteBuffer bytes) {
+        int inputBytes = bytes.remaining();
+        CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT);
+        String text;
+        try {
+            text = decoder.decode(bytes.duplicate()).toString();
+        } catch (CharacterCodingException e) {
+            return maskByLine(bytes, decoder, inputBytes);
+        }
+        StringBuilder masked = new StringBuilder(text.length() + 64);
+        int lines = 0;
+        int start = 0;
+        int length = text.length();
+        while (start < length) {
+            int newline = text.indexOf('\n', start);
+            int next = newline < 0 ? length : newline + 1;
+            int end = newline < 0 ? length : newline;
+            if (end > start && text.charAt(end - 1) == '\r') {
+                end--;
+            }
+            masked.append(masking.apply(text.substring(start, end))).append(text, end, next);
+            lines++;
+            start = next;
+        }
+        return new Chunk(masked.toString().getBytes(StandardCharsets.UTF_8), lines, 0, inputBytes);
+    }
+
+    /**
+     * Masks a chunk that is not all valid UTF-8 line by line, decoding the invalid lines
+     * as Latin-1 so that their bytes are written back unchanged.
+     */
+    private Chunk maskByLine(ByteBuffer bytes, CharsetDecoder decoder, int inputBytes) {
+        ByteArrayOutputStream masked = new ByteArrayOutputStream(inputBytes + 64);
+        int lines = 0;
+        int invalidLines = 0;
+        int start = bytes.position();
+        int limit = bytes.limit();
+        while (start < limit) {
+            int newline = start;
+            while (newline < limit && bytes.get(newline) != '\n') {
+                newline++;
+            }
+            int next = newline < limit ? newline + 1 : limit;
+            int end = newline > start && bytes.get(newline - 1) == '\r' ? newline - 1 : newline;
+            ByteBuffer line = bytes.duplicate();
+            line.position(start).limit(end);
+            byte[] out;
+            try {
+                out = masking.apply(decoder.reset().decode(line).toString()).getBytes(StandardCharsets.UTF_8);
+            } catch (CharacterCodingException e) {
+                line.position(start);
+                out = masking.apply(StandardCharsets.ISO_8859_1.decode(line).toString())
+                        .getBytes(StandardCharsets.ISO_8859_1);
+                invalidLines++;
+            }
+            masked.write(out, 0, out.length);
+            for (int i = end; i < next; i++) {
+                masked.write(bytes.get(i));
+            }
+            lines++;
+            start = next;
+        }
+        return new Chunk(masked.toByteArray(), lines, invalidLines, inputBytes);
+    }
+
+    private static int lastLineEnd(byte[] buffer, int length) {
+        for (int i = length - 1; i >= 0; i--) {
+            if (buffer[i] == '\n') {
+                return i + 1;
+            }
+        }
+        return -1;
+    }
+
+    private static int lastLineEnd(ByteBuffer buffer) {
+        for (int i = buffer.limit() - 1; i >= 0; i--) {
+            if (buffer.get(i) == '\n') {
+                return i + 1;
+            }
+        }
+        return -1;
+    }
+
+    private static final class Chunk {
+        final byte[] bytes;
+        final int lines;
+        final int invalidLines;
+        final int inputBytes;
+
+        Chunk(byte[] bytes, int lines, int invalidLines, int inputBytes) {
+            this.bytes = bytes;
+            this.lines = lines;
+            this.invalidLines = invalidLines;
+            this.inputBytes = inputBytes;
+        }
+    }
+
+    /**
+     * Lines and uncompressed bytes read, lines that were not valid UTF-8, and the time taken.
+     */
+    public static final class Stats {
+        private long lines;
+        private long invalidLines;
+        private long bytes;
+        private long nanos;
+
+        public long lines() {
+            return lines;
+        }
+
+        /** Lines that were not valid UTF-8 and were masked as Latin-1, byte for byte. */
+        public long invalidLines() {
+            return invalidLines;
+        }
+
+        public long bytes() {
+            return bytes;
+        }
+
+        public double seconds() {
+            return nanos / 1e9;
+        }
+
+        public double linesPerSecond() {
+            return nanos == 0 ? 0 : lines / seconds();
+        }
+
+        public double megabytesPerSecond() {
+            return nanos == 0 ? 0 : bytes / (1024.0 * 1024.0) / seconds();
+        }
+
+        void add(Stats other) {
+            lines += other.lines;
+            invalidLines += other.invalidLines;
+            bytes += other.bytes;
+            nanos += other.nanos;
+        }
+
+        @Override
+        public String toString() {
+            String invalid = invalidLines == 0 ? "" : String.format(Locale.ROOT, ", %d not UTF-8", invalidLines);
+            return String.format(Locale.ROOT, "%d lines%s, %.1f MB in %.2f s (%.0f lines/s, %.1f MB/s)",
+                    lines, invalid, bytes / (1024.0 * 1024.0), seconds(), linesPerSecond(), megabytesPerSecond());
+        }
+    }
+}
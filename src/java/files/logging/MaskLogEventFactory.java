@@ -29,16 +29,18 @@ import org.apache.logging.log4j.core.config.plugins.Plugin;
 import org.apache.logging.log4j.core.pattern.ConverterKeys;
 import org.apache.logging.log4j.core.pattern.LogEventPatternConverter;
 import org.apache.logging.log4j.core.pattern.PatternConverter;
+import org.apache.logging.log4j.message.Message;
 import org.apache.logging.log4j.util.PerformanceSensitive;
+import org.apache.logging.log4j.util.StringBuilderFormattable;
 
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.Set;
 import java.util.function.BiConsumer;
 
 import com.google.re2j.Matcher;
 import com.google.re2j.Pattern;
 
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 /**
  * This class is a custom LogEventPatternConverter that masks sensitive
@@ -49,37 +51,59 @@ import java.util.stream.Stream;
 @PerformanceSensitive("allocation")
 public class MaskLogEventFactory extends LogEventPatternConverter {
 
-    public static Integer MAX_LOGGING_FILE_SIZE = 1000;
+    public static final String MASKED_VALUE = "<MASKED>";
+    public static Integer MAX_LOGGING_FILE_SIZE = MaskingDefaults.FILE_SIZE;
     public static boolean IS_ENABLED_MASKING = true;
 
-    public static Set<Pattern> FILE_PATTERNS = Stream.of(
-            Pattern.compile("([\\da-fA-F]{" + MAX_LOGGING_FILE_SIZE + ",})"), // HEX
-            Pattern.compile("([\\da-zA-Z+\\/]{" + MAX_LOGGING_FILE_SIZE + ",}={0,3})")// BASE64
-    ).collect(Collectors.toSet());
+    private static final String HEX_FILE_REGEX = MaskingDefaults.HEX_FILE_REGEX;
+    private static final String BASE64_FILE_REGEX = MaskingDefaults.BASE64_FILE_REGEX;
+    private static final LazyPatternSet DEFAULT_FILE_PATTERNS = MaskingDefaults.FILE_PATTERNS;
+    private static final LazyPatternSet DEFAULT_SENSITIVE_PATTERNS = MaskingDefaults.SENSITIVE_PATTERNS;
 
-    public static Set<Pattern> SENSITIVE_PATTERNS = Stream.of(
-            Pattern.compile("(<SensitiveData>)([\\da-fA-F]*)(</{1,2}SensitiveData>)"), // HEX
-            Pattern.compile("(?i)(3c53656e736974697665446174613e)([\\da-fA-F]*)(?i)(3c2f53656e736974697665446174613e)"), // HEX
-            // //
-            // pattern
-            Pattern.compile("(<SensitiveData>)([\\da-zA-Z+\\/]*={0,3})(</{1,2}SensitiveData>)")// BASE64
-    ).collect(Collectors.toSet());
+    public static Set<Pattern> FILE_PATTERNS = DEFAULT_FILE_PATTERNS;
 
-    public static Set<String> URI_FIELDS = Stream.of(
-            "password", "token", "access_token", "client_secret", "authorization", "api_key", "secret")
-            .collect(Collectors.toSet());
+    public static Set<Pattern> SENSITIVE_PATTERNS = DEFAULT_SENSITIVE_PATTERNS;
 
-    public static Set<String> JSON_FIELDS = Stream.of(
-            "password", "token", "access_token", "client_secret", "authorization", "api_key", "secret")
-            .collect(Collectors.toSet());
+    private static final int DEFAULT_FILE_SIZE = MaskingDefaults.FILE_SIZE;
+    private static final int SENSITIVE_HEX_TAG_LENGTH = "3c53656e736974697665446174613e".length();
 
-    public static Set<String> FORM_FIELDS = Stream.of(
-            "password", "token", "access_token", "client_secret", "authorization", "api_key", "secret")
-            .collect(Collectors.toSet());
+    public static Set<String> URI_FIELDS = new HashSet<>(MaskingDefaults.FIELDS);
+
+    public static Set<String> JSON_FIELDS = new HashSet<>(MaskingDefaults.FIELDS);
+
+    public static Set<String> FORM_FIELDS = new HashSet<>(MaskingDefaults.FIELDS);
+
+    public static Set<String> XML_FIELDS = new HashSet<>(MaskingDefaults.FIELDS);
+
+    public static Set<String> MAP_FIELDS = new HashSet<>(MaskingDefaults.FIELDS);
+
+    public static Set<String> SQL_FIELDS = new HashSet<>(MaskingDefaults.FIELDS);
+
+    public static Set<String> CONTEXT_FIELDS = new HashSet<>(MaskingDefaults.CONTEXT_FIELDS);
+
+    /** JSON path expressions masked in addition to JSON_FIELDS, e.g. {@code $.auth.token}; none by default. */
+    public static Set<String> JSON_PATHS = new HashSet<>();
 
     public static HttpUriMasking uriMasking = new HttpRegexUriMasking(URI_FIELDS);
     public static HttpBodyMasking jsonMasking = new HttpRegexJsonBodyMasking(JSON_FIELDS);
+    public static HttpBodyMasking jsonPathMasking = new HttpJsonPathBodyMasking(JSON_PATHS);
     public static HttpBodyMasking formMasking = new HttpRegexFormBodyMasking(FORM_FIELDS);
+    public static HttpBodyMasking multipartMasking = new HttpMultipartBodyMasking(FORM_FIELDS);
+    public static HttpBodyMasking xmlMasking = new HttpXmlBodyMasking(XML_FIELDS);
+    /** Masks SQL literals compared with or assigned to SQL_FIELDS columns. */
+    public static HttpBodyMasking sqlMasking = new SqlLiteralMasking(SQL_FIELDS);
+    /** Masks random-looking tokens too short for the file patterns, such as API keys. */
+    public static HttpBodyMasking entropyMasking = new EntropyMasking();
+    /** User-defined {@link MaskingRule}s, applied last in one combined scan; none by default. */
+    public static HttpBodyMasking ruleMasking = new MaskingRules(Collections.emptyList());
+    public static StructuredMessageMasking structuredMasking = new StructuredMessageMasking(MAP_FIELDS);
+    public static MaskingKeys contextKeys = MaskingKeys.of(CONTEXT_FIELDS);
+    /** Masks messages of at least {@link ParallelMasking#DEFAULT_THRESHOLD} chars in parallel chunks. */
+    public static ParallelMasking parallelMasking = new ParallelMasking();
+    /** Skips stages whose trigger characters do not occur; null runs every stage. */
+    public static TriggerScanner triggerScanner = TriggerScanner.get();
+    /** Scratch space for the trigger scan and the file masking; {@link ScratchBuffers#none()} allocates afresh. */
+    public static ScratchBuffers scratchBuffers = ScratchBuffers.shared();
 
     MaskLogEventFactory(final String[] options) {
         super("m", "m");
@@ -99,22 +123,91 @@ public class MaskLogEventFactory extends LogEventPatternConverter {
 
     public static void formatAndMaskLog(LogEvent event, StringBuilder outputMessage) {
         try {
-            String original = event.getMessage().getFormattedMessage();
-            String maskedSensitive = maskSensitive(original);
-            String maskedFiles = maskFiles(maskedSensitive);
-
-            // Apply new maskings
-            String maskedUri = uriMasking.mask(maskedFiles);
-            String maskedJson = jsonMasking.mask(maskedUri);
-            String maskedForm = formMasking.mask(maskedJson);
-
-            outputMessage.append(maskedForm);
+            Message message = event.getMessage();
+            if (message instanceof DeferredMaskedMessage) {
+                // Masked when it was first rendered
+                outputMessage.append(message.getFormattedMessage());
+                return;
+            }
+            if (structuredMasking.supports(message)) {
+                // Values are masked by key, the rendered map is not scanned again
+                Message masked = structuredMasking.mask(message);
+                if (masked instanceof StringBuilderFormattable) {
+                    ((StringBuilderFormattable) masked).formatTo(outputMessage);
+                } else {
+                    outputMessage.append(masked.getFormattedMessage());
+                }
+                return;
+            }
+            outputMessage.append(maskFormatted(message.getFormattedMessage()));
         } catch (Exception e) {
             outputMessage.append("EXCEPTION IN LOGGER!").append(e.getClass().getSimpleName()).append(":")
                     .append(e.getMessage());
         }
     }
 
+    /** Masks a formatted message, in parallel chunks when it is large enough. */
+    public static String maskFormatted(String formatted) {
+        return parallelMasking != null && parallelMasking.supports(formatted)
+                ? parallelMasking.mask(formatted, MaskLogEventFactory::maskText)
+                : maskText(formatted);
+    }
+
+    public static String maskText(String original) {
+        if (triggerScanner == null || original == null) {
+            return maskText(original, null);
+        }
+        return maskText(original, triggerScanner.scan(original, scratchBuffers));
+    }
+
+    private static String maskText(String original, TriggerScanner.Triggers triggers) {
+        String maskedSensitive = !isDefault(SENSITIVE_PATTERNS, DEFAULT_SENSITIVE_PATTERNS) || triggers == null
+                || triggers.has(TriggerScanner.LESS_THAN) || triggers.longestRun() >= SENSITIVE_HEX_TAG_LENGTH
+                ? maskSensitive(original) : original;
+        String maskedFiles = !isDefault(FILE_PATTERNS, DEFAULT_FILE_PATTERNS) || triggers == null
+                || triggers.longestRun() >= DEFAULT_FILE_SIZE
+                ? maskFiles(maskedSensitive) : maskedSensitive;
+
+        String maskedTokens = skips(triggers, original, maskedFiles, entropyMasking.triggers())
+                ? maskedFiles : entropyMasking.mask(maskedFiles);
+
+        // SQL goes first, the form masker would cut quoted values at the first space
+        String maskedSql = skips(triggers, original, maskedTokens, sqlMasking.triggers())
+                ? maskedTokens : sqlMasking.mask(maskedTokens);
+
+        // Apply new maskings
+        String maskedUri = skips(triggers, original, maskedSql, uriMasking.triggers())
+                ? maskedSql : uriMasking.mask(maskedSql);
+        String maskedPaths = skips(triggers, original, maskedUri, jsonPathMasking.triggers())
+                ? maskedUri : jsonPathMasking.mask(maskedUri);
+        String maskedJson = skips(triggers, original, maskedPaths, jsonMasking.triggers())
+                ? maskedPaths : jsonMasking.mask(maskedPaths);
+        String maskedMultipart = skips(triggers, original, maskedJson, multipartMasking.triggers())
+                ? maskedJson : multipartMasking.mask(maskedJson);
+        String maskedForm = skips(triggers, original, maskedMultipart, formMasking.triggers())
+                ? maskedMultipart : formMasking.mask(maskedMultipart);
+        String maskedXml = skips(triggers, original, maskedForm, xmlMasking.triggers())
+                ? maskedForm : xmlMasking.mask(maskedForm);
+        return skips(triggers, original, maskedXml, ruleMasking.triggers())
+                ? maskedXml : ruleMasking.mask(maskedXml);
+    }
+
+    /**
+     * Whether the patterns are the untouched defaults, without compiling the defaults when
+     * they are still the set in use.
+     */
+    private static boolean isDefault(Set<Pattern> patterns, LazyPatternSet defaults) {
+        return defaults.isPristine() && (patterns == defaults || patterns.equals(defaults));
+    }
+
+    /**
+     * Whether a stage can be skipped: the text is still the scanned original and none of
+     * the trigger characters the stage needs occur in it.
+     */
+    private static boolean skips(TriggerScanner.Triggers triggers, String original, String current, int kinds) {
+        return triggers != null && current == original && kinds != TriggerScanner.ANY && !triggers.has(kinds);
+    }
+
     public static MaskLogEventFactory newInstance(final String[] options) {
         return new MaskLogEventFactory(options);
     }
@@ -153,8 +246,14 @@ public class MaskLogEventFactory extends LogEventPatternConverter {
 
     public static String maskFiles(String message) {
         try {
+            if (FILE_PATTERNS == DEFAULT_FILE_PATTERNS && DEFAULT_FILE_PATTERNS.isPristine()) {
+                return maskRuns(maskRuns(message, false), true);
+            }
             return FILE_PATTERNS.stream()
                     .reduce(message, (msg, p) -> {
+                        if (isFilePattern(p, HEX_FILE_REGEX) || isFilePattern(p, BASE64_FILE_REGEX)) {
+                            return maskRuns(msg, isFilePattern(p, BASE64_FILE_REGEX));
+                        }
                         Matcher m = p.matcher(msg);
                         return m.find()
                                 ? replaceAll(m)
@@ -165,6 +264,56 @@ public class MaskLogEventFactory extends LogEventPatternConverter {
         }
     }
 
+    /**
+     * Same result as {@link #replaceAll(Matcher)} on a find of the default HEX or BASE64 file
+     * pattern: every run of at least {@link #DEFAULT_FILE_SIZE} chars (BASE64 with up to three
+     * {@code =} after it) is replaced, all with the length of the first one.
+     */
+    private static String maskRuns(String message, boolean base64) {
+        int length = message.length();
+        StringBuilder masked = null;
+        String replacement = null;
+        int copied = 0;
+        int i = 0;
+        while (i < length) {
+            if (!isFileChar(message.charAt(i), base64)) {
+                i++;
+                continue;
+            }
+            int start = i;
+            while (i < length && isFileChar(message.charAt(i), base64)) {
+                i++;
+            }
+            if (i - start < DEFAULT_FILE_SIZE) {
+                continue;
+            }
+            for (int padding = 0; base64 && padding < 3 && i < length && message.charAt(i) == '='; padding++) {
+                i++;
+            }
+            if (masked == null) {
+                masked = scratchBuffers.builder(length);
+                replacement = "<TOO BIG:" + (i - start) + ">";
+            }
+            masked.append(message, copied, start).append(replacement);
+            copied = i;
+        }
+        return masked == null ? message : scratchBuffers.finish(masked.append(message, copied, length));
+    }
+
+    private static boolean isFilePattern(Pattern pattern, String regex) {
+        return pattern.flags() == 0 && pattern.pattern().equals(regex);
+    }
+
+    private static boolean isFileChar(char c, boolean base64) {
+        if (c >= '0' && c <= '9') {
+            return true;
+        }
+        char lower = (char) (c | 0x20);
+        return base64
+                ? lower >= 'a' && lower <= 'z' || c == '+' || c == '/'
+                : lower >= 'a' && lower <= 'f';
+    }
+
     public static String replaceAll(Matcher m) {
         Integer length = m.group(1).length();
         return m.replaceAll("<TOO BIG:" + length + ">");
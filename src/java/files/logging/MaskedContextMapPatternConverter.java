@@ -0,0 +1,145 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 BreninSul
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package files.logging;
+
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.config.plugins.Plugin;
+import org.apache.logging.log4j.core.pattern.ConverterKeys;
+import org.apache.logging.log4j.core.pattern.LogEventPatternConverter;
+import org.apache.logging.log4j.core.pattern.PatternConverter;
+import org.apache.logging.log4j.util.PerformanceSensitive;
+import org.apache.logging.log4j.util.ReadOnlyStringMap;
+import org.apache.logging.log4j.util.StringBuilders;
+import org.apache.logging.log4j.util.TriConsumer;
+
+/**
+ * Replacement for the {@code %X}/{@code %mdc} converter that masks the values of
+ * context keys listed in {@link MaskLogEventFactory#contextKeys}. The context map is
+ * walked with {@link ReadOnlyStringMap#forEach(TriConsumer, Object)}, so nothing is
+ * copied and printing stays garbage-free.
+ */
+@Plugin(name = "MaskedContextMapPatternConverter", category = PatternConverter.CATEGORY)
+@ConverterKeys({ "X", "mdc", "MDC" })
+@PerformanceSensitive("allocation")
+public class MaskedContextMapPatternConverter extends LogEventPatternConverter {
+
+    private static final TriConsumer<String, Object, StringBuilder> WRITE_KEY_VALUES_INTO = (key, value, sb) -> {
+        sb.append(key).append('=');
+        appendMaskedValue(sb, key, value);
+        sb.append(", ");
+    };
+
+    private final String key;
+    private final String[] keys;
+
+    MaskedContextMapPatternConverter(final String[] options) {
+        super(options != null && options.length > 0 ? "MDC{" + options[0] + '}' : "MDC", "mdc");
+        if (options != null && options.length > 0) {
+            if (options[0].indexOf(',') > 0) {
+                String[] split = options[0].split(",");
+                for (int i = 0; i < split.length; i++) {
+                    split[i] = split[i].trim();
+                }
+                keys = split;
+                key = null;
+            } else {
+                keys = null;
+                key = options[0];
+            }
+        } else {
+            keys = null;
+            key = null;
+        }
+    }
+
+    public static MaskedContextMapPatternConverter newInstance(final String[] options) {
+        return new MaskedContextMapPatternConverter(options);
+    }
+
+    @Override
+    public void format(LogEvent event, StringBuilder toAppendTo) {
+        ReadOnlyStringMap contextData = event.getContextData();
+        if (key != null) {
+            if (contextData != null) {
+                Object value = contextData.getValue(key);
+                if (value != null) {
+                    appendMaskedValue(toAppendTo, key, value);
+                }
+            }
+            return;
+        }
+        if (contextData == null || contextData.isEmpty()) {
+            toAppendTo.append("{}");
+            return;
+        }
+        if (keys != null) {
+            appendSelectedKeys(keys, contextData, toAppendTo);
+        } else {
+            appendFully(contextData, toAppendTo);
+        }
+    }
+
+    private static void appendFully(ReadOnlyStringMap contextData, StringBuilder toAppendTo) {
+        toAppendTo.append('{');
+        int start = toAppendTo.length();
+        contextData.forEach(WRITE_KEY_VALUES_INTO, toAppendTo);
+        int end = toAppendTo.length();
+        if (end > start) {
+            toAppendTo.setCharAt(end - 2, '}');
+            toAppendTo.setLength(end - 1);
+        } else {
+            toAppendTo.append('}');
+        }
+    }
+
+    private static void appendSelectedKeys(String[] keys, ReadOnlyStringMap contextData, StringBuilder sb) {
+        int start = sb.length();
+        sb.append('{');
+        for (String theKey : keys) {
+            Object value = contextData.getValue(theKey);
+            if (value != null) {
+                if (sb.length() - start > 1) {
+                    sb.append(", ");
+                }
+                sb.append(theKey).append('=');
+                appendMaskedValue(sb, theKey, value);
+            }
+        }
+        sb.append('}');
+    }
+
+    private static void appendMaskedValue(StringBuilder sb, String key, Object value) {
+        if (MaskLogEventFactory.IS_ENABLED_MASKING && MaskLogEventFactory.contextKeys.contains(key)) {
+            sb.append(MaskLogEventFactory.MASKED_VALUE);
+        } else {
+            StringBuilders.appendValue(sb, value);
+        }
+    }
+
+    @Override
+    public String emptyVariableOutput() {
+        return key == null ? "{}" : "";
+    }
+}
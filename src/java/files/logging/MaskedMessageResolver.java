@@ -0,0 +1,49 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 BreninSul
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package files.logging;
+
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.layout.template.json.resolver.EventResolver;
+import org.apache.logging.log4j.layout.template.json.util.JsonWriter;
+
+import java.util.function.BiConsumer;
+
+/**
+ * Writes the masked message as a JSON string. The message is formatted and masked by
+ * {@link MaskLogEventFactory#FORMATTER} as for the pattern layout, which produces the
+ * formatted and the masked String, and the masked text is appended to the
+ * {@link JsonWriter} buffer, which then quotes and escapes the appended region in place,
+ * so the message is escaped once and not copied into another String for the JSON.
+ */
+public class MaskedMessageResolver implements EventResolver {
+
+    private static final BiConsumer<StringBuilder, LogEvent> MASKED_FORMATTER =
+            (builder, event) -> MaskLogEventFactory.FORMATTER.accept(event, builder);
+
+    @Override
+    public void resolve(LogEvent logEvent, JsonWriter jsonWriter) {
+        jsonWriter.writeString(MASKED_FORMATTER, logEvent);
+    }
+}
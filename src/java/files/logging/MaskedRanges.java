@@ -0,0 +1,129 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 BreninSul
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package files.logging;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Output of one masking scan: the scan reports the ranges it replaces, in text order and
+ * without overlaps, and the text around them is copied through. The same scan loop so
+ * writes a {@link String} through {@link Chars} or UTF-8 bytes through {@link Bytes}.
+ */
+abstract class MaskedRanges {
+    protected int copied;
+
+    /** Index up to which the text has been written out; nothing before it can be masked again. */
+    int copied() {
+        return copied;
+    }
+
+    /** Writes the text up to {@code from}, then the masked body in place of {@code [from, to)}. */
+    abstract void mask(int from, int to);
+
+    /** {@link String#indexOf(int, int)} for either kind of text, keeping the intrinsic for strings. */
+    static int indexOf(CharSequence s, char c, int from) {
+        return s instanceof String ? ((String) s).indexOf(c, from) : ((Utf8Text) s).indexOf(c, from);
+    }
+
+    static int lastIndexOf(CharSequence s, char c, int from) {
+        return s instanceof String ? ((String) s).lastIndexOf(c, from) : ((Utf8Text) s).lastIndexOf(c, from);
+    }
+
+    /** Builds the masked {@link String}, allocating only once something is masked. */
+    static final class Chars extends MaskedRanges {
+        private final String text;
+        private final String maskedBody;
+        private final ScratchBuffers buffers;
+        private StringBuilder out;
+
+        Chars(String text, String maskedBody, ScratchBuffers buffers) {
+            this.text = text;
+            this.maskedBody = maskedBody;
+            this.buffers = buffers;
+        }
+
+        @Override
+        void mask(int from, int to) {
+            if (out == null) {
+                out = buffers.builder(text.length());
+            }
+            out.append(text, copied, from).append(maskedBody);
+            copied = to;
+        }
+
+        /** The masked text, or the original instance when nothing was masked. */
+        String result() {
+            return out == null ? text : buffers.finish(out.append(text, copied, text.length()));
+        }
+    }
+
+    /**
+     * Writes masked UTF-8 bytes of {@code src} into {@code dst}. When {@code dst} overflows,
+     * its position is reset and {@code src} is left unchanged, so the call can be retried
+     * with a larger buffer.
+     */
+    static final class Bytes extends MaskedRanges {
+        private final Utf8Text text;
+        private final byte[] maskedBody;
+        private final ByteBuffer dst;
+        private final int start;
+
+        Bytes(ByteBuffer src, String maskedBody, ByteBuffer dst) {
+            this.text = new Utf8Text(src);
+            this.maskedBody = maskedBody.getBytes(StandardCharsets.UTF_8);
+            this.dst = dst;
+            this.start = dst.position();
+        }
+
+        Utf8Text text() {
+            return text;
+        }
+
+        @Override
+        void mask(int from, int to) {
+            try {
+                text.copyTo(dst, copied, from);
+                dst.put(maskedBody);
+            } catch (BufferOverflowException e) {
+                dst.position(start);
+                throw e;
+            }
+            copied = to;
+        }
+
+        /** Writes the rest of the text and consumes {@code src}. */
+        void finish() {
+            try {
+                text.copyTo(dst, copied, text.length());
+            } catch (BufferOverflowException e) {
+                dst.position(start);
+                throw e;
+            }
+            text.consume();
+        }
+    }
+}
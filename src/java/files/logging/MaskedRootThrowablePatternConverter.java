@@ -0,0 +1,47 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 BreninSul
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package files.logging;
+
+import org.apache.logging.log4j.core.config.plugins.Plugin;
+import org.apache.logging.log4j.core.pattern.ConverterKeys;
+import org.apache.logging.log4j.core.pattern.PatternConverter;
+
+/**
+ * Replacement for the {@code %rEx} converter: the stack trace of
+ * {@link MaskedThrowablePatternConverter} with the root cause printed first and each
+ * throwable wrapping it following as {@code Wrapped by:}. Takes the same options.
+ */
+@Plugin(name = "MaskedRootThrowablePatternConverter", category = PatternConverter.CATEGORY)
+@ConverterKeys({ "rEx", "rException", "rThrowable" })
+public final class MaskedRootThrowablePatternConverter extends MaskedThrowablePatternConverter {
+
+    private MaskedRootThrowablePatternConverter(final String[] options) {
+        super(options, true);
+    }
+
+    public static MaskedRootThrowablePatternConverter newInstance(final String[] options) {
+        return new MaskedRootThrowablePatternConverter(options);
+    }
+}
@@ -0,0 +1,273 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 BreninSul
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package files.logging;
+
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.config.plugins.Plugin;
+import org.apache.logging.log4j.core.impl.ThrowableFormatOptions;
+import org.apache.logging.log4j.core.pattern.ConverterKeys;
+import org.apache.logging.log4j.core.pattern.LogEventPatternConverter;
+import org.apache.logging.log4j.core.pattern.PatternConverter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * Replacement for the {@code %ex} converter that prints the stack trace with every
+ * throwable message in the cause/suppressed chain passed through
+ * {@link MaskLogEventFactory#uriMasking} and {@link MaskLogEventFactory#jsonMasking}.
+ * <p>
+ * Masked messages are memoised per throwable instance in a weak map, so an exception
+ * printed by several appenders, or wrapped by several layers, is masked once.
+ * <p>
+ * Options: {@code none}, {@code short} (first line only), {@code full} (default) or a
+ * maximum number of lines, followed by Log4j's {@code filters(package,...)}, which folds
+ * frames of those packages into one {@code ... suppressed n lines} line, and
+ * {@code separator(text)}, which replaces the line separator.
+ * <p>
+ * Also registered for {@code %xEx}, the default of {@code PatternLayout}, whose packaging
+ * details are not printed; {@code %rEx} is replaced by
+ * {@link MaskedRootThrowablePatternConverter}. Log4j gives a converter key to the plugin
+ * whose name sorts first, so the name has to sort before
+ * {@code ExtendedThrowablePatternConverter}.
+ */
+@Plugin(name = "ExtendedMaskedThrowablePatternConverter", category = PatternConverter.CATEGORY)
+@ConverterKeys({ "ex", "exception", "throwable", "xEx", "xException", "xThrowable" })
+public class MaskedThrowablePatternConverter extends LogEventPatternConverter {
+
+    private static final Map<Throwable, String> MASKED_MESSAGES = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final int maxLines;
+    private final List<String> ignorePackages;
+    private final String separator;
+    private final boolean rootCauseFirst;
+
+    MaskedThrowablePatternConverter(final String[] options) {
+        this(options, false);
+    }
+
+    MaskedThrowablePatternConverter(final String[] options, boolean rootCauseFirst) {
+        super("Throwable", "throwable");
+        ThrowableFormatOptions formatOptions = ThrowableFormatOptions.newInstance(options);
+        this.maxLines = parseMaxLines(options);
+        this.ignorePackages = formatOptions.hasPackages()
+                ? formatOptions.getIgnorePackages() : Collections.emptyList();
+        this.separator = formatOptions.getSeparator();
+        this.rootCauseFirst = rootCauseFirst;
+    }
+
+    public static MaskedThrowablePatternConverter newInstance(final String[] options) {
+        return new MaskedThrowablePatternConverter(options);
+    }
+
+    private static int parseMaxLines(String[] options) {
+        if (options == null || options.length == 0 || options[0] == null) {
+            return Integer.MAX_VALUE;
+        }
+        // the other options may follow the first one after a comma
+        String option = options[0].split(",", 2)[0].trim();
+        if ("none".equalsIgnoreCase(option)) {
+            return 0;
+        }
+        if ("short".equalsIgnoreCase(option)) {
+            return 1;
+        }
+        if ("full".equalsIgnoreCase(option)) {
+            return Integer.MAX_VALUE;
+        }
+        try {
+            return Math.max(0, Integer.parseInt(option));
+        } catch (NumberFormatException e) {
+            return Integer.MAX_VALUE;
+        }
+    }
+
+    @Override
+    public boolean handlesThrowable() {
+        return true;
+    }
+
+    @Override
+    public void format(LogEvent event, StringBuilder toAppendTo) {
+        Throwable thrown = event.getThrown();
+        if (thrown == null || maxLines == 0) {
+            return;
+        }
+        int len = toAppendTo.length();
+        if (len > 0 && !Character.isWhitespace(toAppendTo.charAt(len - 1))) {
+            toAppendTo.append(' ');
+        }
+        Printer printer = new Printer(toAppendTo, maxLines, ignorePackages, separator);
+        if (rootCauseFirst) {
+            printer.printRootCauseFirst(thrown);
+        } else {
+            printer.print(thrown, null, "", "", true);
+        }
+    }
+
+    /**
+     * Returns the masked message of the throwable, masking it on first request only.
+     */
+    public static String maskedMessage(Throwable throwable) {
+        String message = throwable.getLocalizedMessage();
+        if (message == null || !MaskLogEventFactory.IS_ENABLED_MASKING) {
+            return message;
+        }
+        String masked = MASKED_MESSAGES.get(throwable);
+        if (masked == null) {
+            masked = maskMessage(message);
+            MASKED_MESSAGES.put(throwable, masked);
+        }
+        return masked;
+    }
+
+    private static String maskMessage(String message) {
+        try {
+            return MaskLogEventFactory.jsonMasking.mask(MaskLogEventFactory.uriMasking.mask(message));
+        } catch (Exception e) {
+            return "EXCEPTION IN LOGGER!" + e.getClass().getSimpleName();
+        }
+    }
+
+    private static final class Printer {
+        private final StringBuilder sb;
+        private final Set<Throwable> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        private final List<String> ignorePackages;
+        private final String separator;
+        private int linesLeft;
+
+        private Printer(StringBuilder sb, int maxLines, List<String> ignorePackages, String separator) {
+            this.sb = sb;
+            this.linesLeft = maxLines;
+            this.ignorePackages = ignorePackages;
+            this.separator = separator;
+        }
+
+        private boolean line(String prefix) {
+            if (linesLeft <= 0) {
+                return false;
+            }
+            linesLeft--;
+            sb.append(prefix);
+            return true;
+        }
+
+        private void endLine() {
+            sb.append(separator);
+        }
+
+        private boolean isIgnored(StackTraceElement frame) {
+            for (String ignorePackage : ignorePackages) {
+                if (frame.getClassName().startsWith(ignorePackage)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /** Prints the innermost cause first, then each throwable wrapping it. */
+        private void printRootCauseFirst(Throwable t) {
+            List<Throwable> chain = new ArrayList<>();
+            Set<Throwable> inChain = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (Throwable cause = t; cause != null && inChain.add(cause); cause = cause.getCause()) {
+                chain.add(cause);
+            }
+            for (int i = chain.size() - 1; i >= 0; i--) {
+                StackTraceElement[] enclosingTrace = i > 0 ? chain.get(i - 1).getStackTrace() : null;
+                print(chain.get(i), enclosingTrace, i == chain.size() - 1 ? "" : "Wrapped by: ", "", false);
+            }
+        }
+
+        private void print(Throwable t, StackTraceElement[] enclosingTrace, String caption, String prefix,
+                           boolean causes) {
+            if (!seen.add(t)) {
+                if (line(prefix)) {
+                    sb.append(caption).append("[CIRCULAR REFERENCE: ");
+                    appendHeader(t);
+                    sb.append(']');
+                    endLine();
+                }
+                return;
+            }
+            if (!line(prefix)) {
+                return;
+            }
+            sb.append(caption);
+            appendHeader(t);
+            endLine();
+
+            StackTraceElement[] trace = t.getStackTrace();
+            int m = trace.length - 1;
+            if (enclosingTrace != null) {
+                int n = enclosingTrace.length - 1;
+                while (m >= 0 && n >= 0 && trace[m].equals(enclosingTrace[n])) {
+                    m--;
+                    n--;
+                }
+            }
+            int framesInCommon = trace.length - 1 - m;
+            for (int i = 0; i <= m; i++) {
+                if (!line(prefix)) {
+                    return;
+                }
+                if (!ignorePackages.isEmpty() && isIgnored(trace[i])) {
+                    int suppressed = 1;
+                    while (i < m && isIgnored(trace[i + 1])) {
+                        i++;
+                        suppressed++;
+                    }
+                    sb.append("\t... suppressed ").append(suppressed).append(suppressed == 1 ? " line" : " lines");
+                } else {
+                    sb.append("\tat ").append(trace[i]);
+                }
+                endLine();
+            }
+            if (framesInCommon != 0 && line(prefix)) {
+                sb.append("\t... ").append(framesInCommon).append(" more");
+                endLine();
+            }
+            for (Throwable suppressed : t.getSuppressed()) {
+                print(suppressed, trace, "Suppressed: ", prefix + "\t", true);
+            }
+            Throwable cause = t.getCause();
+            if (causes && cause != null) {
+                print(cause, trace, "Caused by: ", prefix, true);
+            }
+        }
+
+        private void appendHeader(Throwable t) {
+            sb.append(t.getClass().getName());
+            String message = maskedMessage(t);
+            if (message != null) {
+                sb.append(": ").append(message);
+            }
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 BreninSul
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package files.logging;
+
+import java.util.Set;
+
+/**
+ * The default patterns and key tables of {@link MaskLogEventFactory}, kept apart from it
+ * so that they can be created without loading Log4j. Nothing here depends on the
+ * environment, so a native image can initialise this class at build time; the
+ * {@code native-image.properties} shipped in the jar asks for that. In the image build
+ * the patterns and tables are also compiled right away and stored in the image heap, so
+ * a native executable starts with them ready. On a JVM they are compiled lazily as before.
+ */
+final class MaskingDefaults {
+    static final int FILE_SIZE = 1000;
+
+    // RE2/J unrolls {1000,} into a thousand states, so maskFiles scans for these two itself
+    static final String HEX_FILE_REGEX = "([\\da-fA-F]{" + FILE_SIZE + ",})";
+    static final String BASE64_FILE_REGEX = "([\\da-zA-Z+\\/]{" + FILE_SIZE + ",}={0,3})";
+
+    // Compiled on first use; the defaults need a '<' or a long [0-9A-Za-z+/] run, see maskText
+    static final LazyPatternSet FILE_PATTERNS = new LazyPatternSet(
+            HEX_FILE_REGEX, // HEX
+            BASE64_FILE_REGEX// BASE64
+    );
+
+    static final LazyPatternSet SENSITIVE_PATTERNS = new LazyPatternSet(
+            "(<SensitiveData>)([\\da-fA-F]*)(</{1,2}SensitiveData>)", // HEX
+            "(?i)(3c53656e736974697665446174613e)([\\da-fA-F]*)(?i)(3c2f53656e736974697665446174613e)", // HEX
+            // //
+            // pattern
+            "(<SensitiveData>)([\\da-zA-Z+\\/]*={0,3})(</{1,2}SensitiveData>)"// BASE64
+    );
+
+    static final Set<String> FIELDS = Set.of(
+            "password", "token", "access_token", "client_secret", "authorization", "api_key", "secret");
+
+    static final Set<String> CONTEXT_FIELDS = Set.of(
+            "password", "token", "access_token", "client_secret", "authorization", "api_key", "secret",
+            "session_id");
+
+    /** Shared by every default masker through {@link MaskingKeys#of}. */
+    static final MaskingKeys KEYS = MaskingKeys.of(FIELDS);
+    static final MaskingKeys CONTEXT_KEYS = MaskingKeys.of(CONTEXT_FIELDS);
+
+    static {
+        if (isImageBuildTime()) {
+            compile();
+        }
+    }
+
+    private MaskingDefaults() {
+    }
+
+    /** Set by native-image while it builds an image, see {@code org.graalvm.nativeimage.ImageInfo}. */
+    static boolean isImageBuildTime() {
+        return "buildtime".equals(System.getProperty("org.graalvm.nativeimage.imagecode"));
+    }
+
+    /** Compiles every default pattern and key table now instead of on first use. */
+    static void compile() {
+        FILE_PATTERNS.compile();
+        SENSITIVE_PATTERNS.compile();
+        KEYS.compile();
+        CONTEXT_KEYS.compile();
+    }
+}
@@ -0,0 +1,274 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 BreninSul
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package files.logging;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compiled table of sensitive keys shared by the maskers.
+ * <p>
+ * Keys are normalised before they are compiled and before they are looked up:
+ * letters are case-folded and {@code '-'} and {@code '_'} are ignored, so
+ * {@code Password}, {@code API-KEY}, {@code api_key} and {@code apiKey} all hit the
+ * same entry. The normalised keys are compiled into a trie stored back to front, whose
+ * edges live in one open-addressing hash table, so a lookup costs one probe per
+ * character of the candidate key whatever the number of configured keys, and can be
+ * done in place on any region of the text. Keys are never spliced into regular
+ * expressions, so regex metacharacters in key names need no escaping.
+ * <p>
+ * The trie is built on the first lookup, so maskers replaced at startup never build
+ * theirs, and {@link #of(Collection)} hands out one table per distinct set of keys.
+ */
+public class MaskingKeys {
+    private static final long EMPTY = -1L;
+    private static final int ROOT = 0;
+    private static final int MAX_SHARED = 64;
+    private static final Map<Set<String>, MaskingKeys> SHARED = new ConcurrentHashMap<>();
+
+    private final String[] source;
+    private volatile Table table;
+
+    /**
+     * Keys are copied now and compiled on the first lookup.
+     */
+    public MaskingKeys(Collection<String> keys) {
+        this.source = keys.toArray(new String[0]);
+    }
+
+    /**
+     * Table for {@code keys}, shared with every other caller passing an equal set of keys,
+     * so the default URI, JSON, form, XML and map maskers compile one table between them.
+     */
+    public static MaskingKeys of(Collection<String> keys) {
+        Set<String> copy = Set.copyOf(keys);
+        MaskingKeys shared = SHARED.get(copy);
+        if (shared == null) {
+            shared = new MaskingKeys(copy);
+            if (SHARED.size() < MAX_SHARED) {
+                MaskingKeys previous = SHARED.putIfAbsent(copy, shared);
+                shared = previous == null ? shared : previous;
+            }
+        }
+        return shared;
+    }
+
+    /** Builds the table now if it is not yet. */
+    void compile() {
+        table();
+    }
+
+    boolean isCompiled() {
+        return table != null;
+    }
+
+    private Table table() {
+        Table compiled = table;
+        if (compiled == null) {
+            // racing threads compile equal tables, any of them may win
+            compiled = new Table(source);
+            table = compiled;
+        }
+        return compiled;
+    }
+
+    /**
+     * Case-folds the character, or returns -1 for separators ignored by the lookup.
+     */
+    static int normalize(int c) {
+        if (c >= 'A' && c <= 'Z') {
+            return c + ('a' - 'A');
+        }
+        if (c == '-' || c == '_') {
+            return -1;
+        }
+        if (c < 0x80) {
+            return c;
+        }
+        return Character.toLowerCase((char) c);
+    }
+
+    public boolean contains(String key) {
+        return key != null && contains(key, 0, key.length());
+    }
+
+    /**
+     * Whether {@code text[start, end)} is a sensitive key once normalised.
+     */
+    public boolean contains(CharSequence text, int start, int end) {
+        return table().contains(text, start, end);
+    }
+
+    /**
+     * Whether the text right before {@code end} ends with a sensitive key. Used by
+     * {@code key=value} maskers where the key has no opening delimiter.
+     */
+    public boolean endsWithKey(CharSequence text, int start, int end) {
+        return table().endsWithKey(text, start, end);
+    }
+
+    public boolean isEmpty() {
+        return table().size == 0;
+    }
+
+    public int size() {
+        return table().size;
+    }
+
+    /**
+     * The compiled trie; immutable once built.
+     */
+    private static final class Table {
+        private final int size;
+        private final int maxRawLength;
+        private final long[] edgeKeys;
+        private final int[] edgeTargets;
+        private final int edgeMask;
+        private final boolean[] terminal;
+        private int nodeCount;
+
+        Table(String[] keys) {
+            int capacity = 16;
+            int chars = 0;
+            int maxLength = 0;
+            int maxRaw = 0;
+            for (String key : keys) {
+                chars += key.length();
+                maxRaw = Math.max(maxRaw, key.length());
+            }
+            while (capacity < chars * 2) {
+                capacity <<= 1;
+            }
+            this.edgeKeys = new long[capacity];
+            Arrays.fill(edgeKeys, EMPTY);
+            this.edgeTargets = new int[capacity];
+            this.edgeMask = capacity - 1;
+            this.terminal = new boolean[chars + 1];
+            this.nodeCount = 1;
+            int added = 0;
+            for (String key : keys) {
+                int length = add(key);
+                if (length > 0) {
+                    added++;
+                    maxLength = Math.max(maxLength, length);
+                }
+            }
+            this.size = added;
+            // separators are not part of the normalised key, leave room for them when walking raw text
+            this.maxRawLength = Math.max(maxRaw, maxLength * 2) + 2;
+        }
+
+        private int add(String key) {
+            int node = ROOT;
+            int length = 0;
+            for (int i = key.length() - 1; i >= 0; i--) {
+                int c = normalize(key.charAt(i));
+                if (c < 0) {
+                    continue;
+                }
+                int child = child(node, c);
+                if (child < 0) {
+                    child = nodeCount++;
+                    putEdge(node, c, child);
+                }
+                node = child;
+                length++;
+            }
+            if (length > 0) {
+                terminal[node] = true;
+            }
+            return length;
+        }
+
+        private static long edgeKey(int node, int c) {
+            return ((long) node << 16) | c;
+        }
+
+        private static int hash(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+
+        private void putEdge(int node, int c, int child) {
+            long key = edgeKey(node, c);
+            int slot = hash(key) & edgeMask;
+            while (edgeKeys[slot] != EMPTY) {
+                slot = (slot + 1) & edgeMask;
+            }
+            edgeKeys[slot] = key;
+            edgeTargets[slot] = child;
+        }
+
+        private int child(int node, int c) {
+            long key = edgeKey(node, c);
+            int slot = hash(key) & edgeMask;
+            long found;
+            while ((found = edgeKeys[slot]) != EMPTY) {
+                if (found == key) {
+                    return edgeTargets[slot];
+                }
+                slot = (slot + 1) & edgeMask;
+            }
+            return -1;
+        }
+
+        boolean contains(CharSequence text, int start, int end) {
+            int node = ROOT;
+            for (int i = end - 1; i >= start; i--) {
+                int c = normalize(text.charAt(i));
+                if (c < 0) {
+                    continue;
+                }
+                node = child(node, c);
+                if (node < 0) {
+                    return false;
+                }
+            }
+            return terminal[node];
+        }
+
+        boolean endsWithKey(CharSequence text, int start, int end) {
+            int node = ROOT;
+            int from = Math.max(start, end - maxRawLength);
+            for (int i = end - 1; i >= from; i--) {
+                int c = normalize(text.charAt(i));
+                if (c < 0) {
+                    continue;
+                }
+                node = child(node, c);
+                if (node < 0) {
+                    return false;
+                }
+                if (terminal[node]) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 BreninSul
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package files.logging;
+
+import org.apache.logging.log4j.message.AbstractMessageFactory;
+import org.apache.logging.log4j.message.Message;
+import org.apache.logging.log4j.message.ObjectMessage;
+import org.apache.logging.log4j.message.ParameterizedMessage;
+import org.apache.logging.log4j.message.SimpleMessage;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Creates {@link DeferredMaskedMessage}s, so neither formatting nor masking runs on the
+ * logging thread when an async logger is used:
+ * <pre>
+ * -Dlog4j2.messageFactory=files.logging.MaskingMessageFactory
+ * </pre>
+ * or {@code LogManager.getLogger(name, new MaskingMessageFactory())}.
+ * <p>
+ * Parameters are captured by reference when they cannot change before the message is
+ * rendered: strings, boxed primitives, {@code BigInteger}, {@code BigDecimal}, UUIDs,
+ * enums, classes, {@code java.time} values and throwables, plus the types given to the
+ * constructor. Any other parameter, for example a collection or a bean, is rendered to
+ * its string on the logging thread right away, the same way {@link ParameterizedMessage}
+ * would render it later. That string is what gets logged.
+ */
+public class MaskingMessageFactory extends AbstractMessageFactory {
+    private static final long serialVersionUID = 1L;
+    private static final Set<Class<?>> IMMUTABLE_TYPES = new HashSet<>(Arrays.asList(
+            String.class, Boolean.class, Character.class, Byte.class, Short.class, Integer.class, Long.class,
+            Float.class, Double.class, BigInteger.class, BigDecimal.class, UUID.class, Class.class));
+
+    protected final Set<Class<?>> immutableTypes;
+
+    public MaskingMessageFactory() {
+        this(Collections.emptySet());
+    }
+
+    /** Also captures instances of exactly {@code immutableTypes} by reference. */
+    public MaskingMessageFactory(Collection<Class<?>> immutableTypes) {
+        Set<Class<?>> types = new HashSet<>(IMMUTABLE_TYPES);
+        types.addAll(immutableTypes);
+        this.immutableTypes = Collections.unmodifiableSet(types);
+    }
+
+    @Override
+    public Message newMessage(CharSequence message) {
+        return new DeferredMaskedMessage(new SimpleMessage(message == null ? null : message.toString()));
+    }
+
+    @Override
+    public Message newMessage(Object message) {
+        return new DeferredMaskedMessage(new ObjectMessage(snapshot(message)));
+    }
+
+    @Override
+    public Message newMessage(String message) {
+        return new DeferredMaskedMessage(new SimpleMessage(message));
+    }
+
+    @Override
+    public Message newMessage(String message, Object... params) {
+        return new DeferredMaskedMessage(new ParameterizedMessage(message, snapshot(params)));
+    }
+
+    /**
+     * A copy of {@code params} with the mutable ones rendered; always a copy, since the caller
+     * may reuse the array before the message is formatted.
+     */
+    protected Object[] snapshot(Object[] params) {
+        if (params == null) {
+            return null;
+        }
+        Object[] copy = params.clone();
+        for (int i = 0; i < copy.length; i++) {
+            if (!isImmutable(copy[i])) {
+                copy[i] = ParameterizedMessage.deepToString(copy[i]);
+            }
+        }
+        return copy;
+    }
+
+    protected Object snapshot(Object param) {
+        return isImmutable(param) ? param : ParameterizedMessage.deepToString(param);
+    }
+
+    protected boolean isImmutable(Object param) {
+        if (param == null || immutableTypes.contains(param.getClass())) {
+            return true;
+        }
+        return param instanceof Enum || param instanceof Throwable || param.getClass().getName().startsWith("java.time.");
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 BreninSul
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package files.logging;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.function.UnaryOperator;
+
+/**
+ * {@link OutputStream} decorator that decodes bytes, masks them through a
+ * {@link MaskingWriter} and encodes them again with the same charset. Multi-byte
+ * characters split between writes are carried over by the decoder; memory use is the
+ * writer's window plus two fixed buffers.
+ */
+public class MaskingOutputStream extends OutputStream {
+    private static final int BUFFER_SIZE = 4096;
+
+    private final CharsetDecoder decoder;
+    private final ByteBuffer bytes = ByteBuffer.allocate(BUFFER_SIZE);
+    private final CharBuffer chars = CharBuffer.allocate(BUFFER_SIZE);
+    private final MaskingWriter writer;
+    private boolean closed;
+
+    public MaskingOutputStream(OutputStream out) {
+        this(out, StandardCharsets.UTF_8, MaskLogEventFactory::maskText, MaskingWriter.DEFAULT_WINDOW);
+    }
+
+    public MaskingOutputStream(OutputStream out, Charset charset, HttpBodyMasking masking) {
+        this(out, charset, masking::mask, MaskingWriter.DEFAULT_WINDOW);
+    }
+
+    public MaskingOutputStream(OutputStream out, Charset charset, UnaryOperator<String> masking, int window) {
+        this.decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.writer = new MaskingWriter(new OutputStreamWriter(out, charset), masking, window);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureOpen();
+        bytes.put((byte) b);
+        if (!bytes.hasRemaining()) {
+            decode(false);
+        }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        ensureOpen();
+        while (len > 0) {
+            int n = Math.min(len, bytes.remaining());
+            bytes.put(b, off, n);
+            off += n;
+            len -= n;
+            decode(false);
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        decode(false);
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            decode(true);
+            decoder.flush(chars);
+            writeChars();
+        } finally {
+            writer.close();
+        }
+    }
+
+    private void decode(boolean endOfInput) throws IOException {
+        bytes.flip();
+        while (true) {
+            CoderResult result = decoder.decode(bytes, chars, endOfInput);
+            writeChars();
+            if (result.isUnderflow()) {
+                break;
+            }
+        }
+        bytes.compact();
+    }
+
+    private void writeChars() throws IOException {
+        chars.flip();
+        writer.write(chars.array(), chars.arrayOffset() + chars.position(), chars.remaining());
+        chars.clear();
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 BreninSul
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package files.logging;
+
+import org.apache.logging.log4j.core.Core;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.appender.rewrite.RewritePolicy;
+import org.apache.logging.log4j.core.config.plugins.Plugin;
+import org.apache.logging.log4j.core.config.plugins.PluginFactory;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.message.Message;
+
+/**
+ * Rewrite policy replacing structured messages with their masked copy, so layouts
+ * reading message fields directly (JSON layouts, {@code %K}, {@code $${map:...}})
+ * never see the original values.
+ *
+ * <pre>
+ * &lt;Rewrite name="Masked"&gt;
+ *     &lt;MaskingRewritePolicy/&gt;
+ *     &lt;AppenderRef ref="Json"/&gt;
+ * &lt;/Rewrite&gt;
+ * </pre>
+ */
+@Plugin(name = "MaskingRewritePolicy", category = Core.CATEGORY_NAME, elementType = "rewritePolicy", printObject = true)
+public class MaskingRewritePolicy implements RewritePolicy {
+
+    @Override
+    public LogEvent rewrite(LogEvent source) {
+        if (!MaskLogEventFactory.IS_ENABLED_MASKING) {
+            return source;
+        }
+        StructuredMessageMasking masking = MaskLogEventFactory.structuredMasking;
+        Message message = source.getMessage();
+        if (!masking.supports(message)) {
+            return source;
+        }
+        return new Log4jLogEvent.Builder(source).setMessage(masking.mask(message)).build();
+    }
+
+    @PluginFactory
+    public static MaskingRewritePolicy createPolicy() {
+        return new MaskingRewritePolicy();
+    }
+
+    @Override
+    public String toString() {
+        return "MaskingRewritePolicy";
+    }
+}
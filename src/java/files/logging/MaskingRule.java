@@ -0,0 +1,175 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 BreninSul
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package files.logging;
+
+import com.google.re2j.Matcher;
+import com.google.re2j.Pattern;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A user-defined masking rule: a RE2/J pattern, the capture group whose text is
+ * replaced (0 for the whole match) and a replacement template. The template is copied
+ * as is, except for {@code {length}} (length of the replaced text), {@code {rule}} (the
+ * rule name) and {@code $n} (text of group {@code n} of the pattern).
+ * <pre>
+ * new MaskingRule("iban", "\\b[A-Z]{2}\\d{2}[A-Z0-9]{11,30}\\b", 0, "&lt;IBAN:{length}&gt;")
+ * new MaskingRule("pin", "(?i)pin[:=](\\d{4,6})", 1, "&lt;MASKED&gt;")
+ * </pre>
+ * Rules are compiled together by {@link MaskingRules}, which counts how often each one fired.
+ */
+public class MaskingRule {
+    private static final int LENGTH = -1;
+    private static final int RULE = -2;
+
+    private final String name;
+    private final String regex;
+    private final int group;
+    private final String replacement;
+    private final int groupCount;
+    private final List<Object> template = new ArrayList<>();
+    private final LongAdder hits = new LongAdder();
+
+    public MaskingRule(String name, String regex, int group, String replacement) {
+        this.name = name;
+        this.regex = regex;
+        this.group = group;
+        this.replacement = replacement;
+        this.groupCount = Pattern.compile(regex).groupCount();
+        if (group < 0 || group > groupCount) {
+            throw new IllegalArgumentException("Rule " + name + " has no group " + group + ": " + regex);
+        }
+        compileTemplate();
+    }
+
+    /** Rule replacing the whole match with {@link MaskLogEventFactory#MASKED_VALUE}. */
+    public static MaskingRule of(String name, String regex) {
+        return new MaskingRule(name, regex, 0, MaskLogEventFactory.MASKED_VALUE);
+    }
+
+    private void compileTemplate() {
+        StringBuilder literal = new StringBuilder();
+        int i = 0;
+        while (i < replacement.length()) {
+            char c = replacement.charAt(i);
+            int ref = Integer.MIN_VALUE;
+            int next = i + 1;
+            if (replacement.startsWith("{length}", i)) {
+                ref = LENGTH;
+                next = i + "{length}".length();
+            } else if (replacement.startsWith("{rule}", i)) {
+                ref = RULE;
+                next = i + "{rule}".length();
+            } else if (c == '$' && i + 1 < replacement.length() && Character.isDigit(replacement.charAt(i + 1))) {
+                ref = replacement.charAt(i + 1) - '0';
+                next = i + 2;
+                if (ref > groupCount) {
+                    throw new IllegalArgumentException("Rule " + name + " has no group " + ref + ": " + regex);
+                }
+            }
+            if (ref == Integer.MIN_VALUE) {
+                literal.append(c);
+            } else {
+                if (literal.length() > 0) {
+                    template.add(literal.toString());
+                    literal.setLength(0);
+                }
+                template.add(ref);
+            }
+            i = next;
+        }
+        if (literal.length() > 0) {
+            template.add(literal.toString());
+        }
+    }
+
+    /**
+     * Appends the masked form of the current match of {@code matcher}, whose groups for this
+     * rule start after group {@code offset}, and counts the hit.
+     */
+    void apply(Matcher matcher, int offset, StringBuilder out) {
+        hits.increment();
+        int start = matcher.start(offset + group);
+        if (start < 0) {
+            out.append(matcher.group(offset));
+            return;
+        }
+        int matchStart = matcher.start(offset);
+        String text = matcher.group(offset);
+        int end = matcher.end(offset + group);
+        out.append(text, 0, start - matchStart);
+        for (Object part : template) {
+            if (part instanceof String) {
+                out.append((String) part);
+            } else {
+                int ref = (Integer) part;
+                if (ref == LENGTH) {
+                    out.append(end - start);
+                } else if (ref == RULE) {
+                    out.append(name);
+                } else if (matcher.start(offset + ref) >= 0) {
+                    out.append(matcher.group(offset + ref));
+                }
+            }
+        }
+        out.append(text, end - matchStart, text.length());
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public String regex() {
+        return regex;
+    }
+
+    public int group() {
+        return group;
+    }
+
+    public String replacement() {
+        return replacement;
+    }
+
+    int groupCount() {
+        return groupCount;
+    }
+
+    /** Number of matches masked by this rule so far. */
+    public long hits() {
+        return hits.sum();
+    }
+
+    public void resetHits() {
+        hits.reset();
+    }
+
+    @Override
+    public String toString() {
+        return name + "=" + regex;
+    }
+}
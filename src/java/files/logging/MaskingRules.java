@@ -0,0 +1,130 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 BreninSul
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package files.logging;
+
+import com.google.re2j.Matcher;
+import com.google.re2j.Pattern;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A set of {@link MaskingRule}s compiled into one RE2/J alternation, so any number of
+ * rules costs a single scan of the message. Each rule is wrapped in its own capture
+ * group; the first wrapper that took part in a match tells which rule fired. Where rules
+ * match at the same position, the one listed first wins. Hits are counted per rule, so
+ * rules that never match can be found with {@link #unmatched()} and pruned.
+ */
+public class MaskingRules implements HttpBodyMasking {
+    protected final List<MaskingRule> rules;
+    protected String emptyBody = "";
+    protected ScratchBuffers buffers = ScratchBuffers.shared();
+    private final Pattern pattern;
+    private final int[] offsets;
+
+    public MaskingRules(Collection<MaskingRule> rules) {
+        this.rules = Collections.unmodifiableList(new ArrayList<>(rules));
+        this.offsets = new int[this.rules.size()];
+        StringBuilder alternation = new StringBuilder();
+        int group = 1;
+        for (int i = 0; i < offsets.length; i++) {
+            MaskingRule rule = this.rules.get(i);
+            if (i > 0) {
+                alternation.append('|');
+            }
+            alternation.append('(').append(rule.regex()).append(')');
+            offsets[i] = group;
+            group += 1 + rule.groupCount();
+        }
+        this.pattern = offsets.length == 0 ? null : Pattern.compile(alternation.toString());
+    }
+
+    @Override
+    public String mask(String message) {
+        if (message == null) {
+            return emptyBody;
+        }
+        if (pattern == null) {
+            return message;
+        }
+        Matcher matcher = pattern.matcher(message);
+        StringBuilder maskedMessage = null;
+        int copied = 0;
+        while (matcher.find()) {
+            if (maskedMessage == null) {
+                maskedMessage = buffers.builder(message.length() + 16);
+            }
+            int rule = 0;
+            while (rule < offsets.length - 1 && matcher.start(offsets[rule]) < 0) {
+                rule++;
+            }
+            maskedMessage.append(message, copied, matcher.start());
+            rules.get(rule).apply(matcher, offsets[rule], maskedMessage);
+            copied = matcher.end();
+        }
+        if (maskedMessage == null) {
+            return message;
+        }
+        return buffers.finish(maskedMessage.append(message, copied, message.length()));
+    }
+
+    public List<MaskingRule> rules() {
+        return rules;
+    }
+
+    /** Hits per rule name, in rule order. */
+    public Map<String, Long> hits() {
+        Map<String, Long> hits = new LinkedHashMap<>();
+        for (MaskingRule rule : rules) {
+            hits.merge(rule.name(), rule.hits(), Long::sum);
+        }
+        return hits;
+    }
+
+    /** Rules that have not masked anything yet. */
+    public List<MaskingRule> unmatched() {
+        List<MaskingRule> unmatched = new ArrayList<>();
+        for (MaskingRule rule : rules) {
+            if (rule.hits() == 0) {
+                unmatched.add(rule);
+            }
+        }
+        return unmatched;
+    }
+
+    @Override
+    public int triggers() {
+        return rules.isEmpty() ? 0 : TriggerScanner.ANY;
+    }
+
+    @Override
+    public HttpBodyType type() {
+        return HttpBodyType.OTHER;
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 BreninSul
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package files.logging;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.function.UnaryOperator;
+
+/**
+ * {@link Writer} decorator that masks text on its way to another writer, for request
+ * and response bodies that should not be buffered into one string.
+ * <p>
+ * Written text is collected until three windows are pending. The oldest part is then
+ * masked and written out, and the last {@code window} characters at least are carried
+ * over, so a key or value that was split between two writes is seen whole. The part ends
+ * at the latest safe cut found by a {@link SafeCuts} pass over the new text, which is
+ * outside every container, so a cut never separates a key from its value or from part of
+ * it. When there is none, more windows are collected, up to eight; past that the text
+ * from the last safe cut up to the next one is replaced by {@link #maskedBody}, so a
+ * value or container longer than that is dropped rather than split. Memory use therefore
+ * depends on the window and not on the size of the body.
+ * <p>
+ * Maskers that need a whole document (such as {@link HttpJsonPathBodyMasking} or
+ * {@link HttpAllowListJsonBodyMasking}) are only guaranteed to mask it when the body fits
+ * in the pending text. {@link #flush()} flushes the target but keeps the carried-over
+ * text; {@link #close()} masks and writes the rest.
+ */
+public class MaskingWriter extends Writer {
+    public static final int DEFAULT_WINDOW = 8192;
+    private static final int MAX_WINDOWS = 8;
+
+    protected final Writer out;
+    protected final UnaryOperator<String> masking;
+    protected final int window;
+    protected String maskedBody = "<MASKED>";
+    private final StringBuilder pending;
+    private final SafeCuts cuts = new SafeCuts();
+    private int drainAt;
+    private boolean skipping;
+    private boolean closed;
+
+    public MaskingWriter(Writer out) {
+        this(out, MaskLogEventFactory::maskText, DEFAULT_WINDOW);
+    }
+
+    public MaskingWriter(Writer out, HttpBodyMasking masking) {
+        this(out, masking::mask, DEFAULT_WINDOW);
+    }
+
+    public MaskingWriter(Writer out, UnaryOperator<String> masking, int window) {
+        if (window <= 0) {
+            throw new IllegalArgumentException("Window must be positive: " + window);
+        }
+        this.out = out;
+        this.masking = masking;
+        this.window = window;
+        this.pending = new StringBuilder(window * 3);
+        this.drainAt = window * 3;
+    }
+
+    @Override
+    public void write(int c) throws IOException {
+        ensureOpen();
+        pending.append((char) c);
+        if (pending.length() >= drainAt) {
+            drain();
+        }
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        ensureOpen();
+        while (len > 0) {
+            int n = Math.min(len, drainAt - pending.length());
+            pending.append(cbuf, off, n);
+            off += n;
+            len -= n;
+            if (pending.length() >= drainAt) {
+                drain();
+            }
+        }
+    }
+
+    @Override
+    public void write(String str, int off, int len) throws IOException {
+        ensureOpen();
+        while (len > 0) {
+            int n = Math.min(len, drainAt - pending.length());
+            pending.append(str, off, off + n);
+            off += n;
+            len -= n;
+            if (pending.length() >= drainAt) {
+                drain();
+            }
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            if (skipping) {
+                skip();
+            }
+            if (skipping) {
+                pending.setLength(0);
+            } else if (pending.length() > 0) {
+                out.write(masking.apply(pending.toString()));
+                pending.setLength(0);
+            }
+        } finally {
+            out.close();
+        }
+    }
+
+    /** Masks and writes the oldest part of the pending text, keeping at least one window. */
+    private void drain() throws IOException {
+        while (pending.length() >= drainAt) {
+            if (skipping && !skip()) {
+                return;
+            }
+            int limit = pending.length() - window;
+            cuts.scan(pending, limit);
+            // cut no earlier than one window into the buffer, so every drain moves a window on
+            int cut = cuts.lastSafe();
+            if (cut >= window) {
+                out.write(masking.apply(pending.substring(0, cut)));
+                drop(cut);
+                drainAt = window * 3;
+            } else if (drainAt < window * MAX_WINDOWS) {
+                drainAt += window;
+            } else {
+                // a value or container longer than the pending text: mask it whole rather than split it
+                int from = Math.max(cut, 0);
+                out.write(masking.apply(pending.substring(0, from)));
+                out.write(maskedBody);
+                drop(limit);
+                drainAt = window * 3;
+                skipping = true;
+            }
+        }
+    }
+
+    /** Drops pending text up to the next safe cut; returns whether one was found. */
+    private boolean skip() {
+        int end = cuts.nextSafe(pending, pending.length());
+        drop(end >= 0 ? end : cuts.position());
+        skipping = end < 0;
+        return !skipping;
+    }
+
+    private void drop(int count) {
+        pending.delete(0, count);
+        cuts.shift(count);
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 BreninSul
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package files.logging;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+
+/**
+ * Masks oversized messages in parallel. Messages of at least {@link #threshold} chars
+ * are cut into chunks of about {@link #chunkSize} chars, which are masked on a
+ * dedicated, bounded pool of daemon threads and joined in order.
+ * <p>
+ * The cuts are taken from one {@link SafeCuts} pass over the message: the latest safe cut
+ * within {@link #overlap} chars before the nominal chunk boundary. A safe cut is outside
+ * every container and element, so when there is none the two chunks are merged rather
+ * than cut through a key, a value or a document. When the pool is saturated the calling
+ * thread masks the chunk itself.
+ */
+public class ParallelMasking {
+    public static final int DEFAULT_THRESHOLD = 1 << 20;
+    public static final int DEFAULT_CHUNK_SIZE = 256 << 10;
+    public static final int DEFAULT_OVERLAP = 4096;
+
+    protected final int threshold;
+    protected final int chunkSize;
+    protected final int overlap;
+    protected final int threads;
+    private volatile ThreadPoolExecutor executor;
+
+    public ParallelMasking() {
+        this(DEFAULT_THRESHOLD, DEFAULT_CHUNK_SIZE, DEFAULT_OVERLAP,
+                Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors())));
+    }
+
+    public ParallelMasking(int threshold, int chunkSize, int overlap, int threads) {
+        if (chunkSize <= overlap * 2 || overlap <= 0 || threads <= 0) {
+            throw new IllegalArgumentException("Need chunkSize > 2 * overlap > 0 and threads > 0");
+        }
+        this.threshold = threshold;
+        this.chunkSize = chunkSize;
+        this.overlap = overlap;
+        this.threads = threads;
+    }
+
+    /** Whether {@code message} is large enough to be masked in chunks. */
+    public boolean supports(String message) {
+        return message != null && message.length() >= threshold;
+    }
+
+    public String mask(String message, UnaryOperator<String> masking) {
+        int length = message.length();
+        if (length < chunkSize * 2) {
+            return masking.apply(message);
+        }
+        ThreadPoolExecutor pool = executor();
+        try {
+            List<Integer> cuts = cuts(message);
+            List<Future<String>> chunks = new ArrayList<>(cuts.size() - 1);
+            for (int i = 0; i < cuts.size() - 1; i++) {
+                String chunk = message.substring(cuts.get(i), cuts.get(i + 1));
+                chunks.add(pool.submit(() -> masking.apply(chunk)));
+            }
+            StringBuilder masked = new StringBuilder(length + 64);
+            for (Future<String> chunk : chunks) {
+                masked.append(chunk.get());
+            }
+            return masked.toString();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return masking.apply(message);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Parallel masking failed", e.getCause());
+        }
+    }
+
+    /** Chunk bounds, from 0 to the length of {@code message}. */
+    private List<Integer> cuts(String message) {
+        List<Integer> cuts = new ArrayList<>();
+        cuts.add(0);
+        SafeCuts scanner = new SafeCuts();
+        for (int nominal = chunkSize; nominal <= message.length() - chunkSize; nominal += chunkSize) {
+            scanner.scan(message, nominal);
+            int earliest = Math.max(nominal - overlap, cuts.get(cuts.size() - 1));
+            if (scanner.lastSafe() > earliest) {
+                cuts.add(scanner.lastSafe());
+            }
+        }
+        cuts.add(message.length());
+        return cuts;
+    }
+
+    private ThreadPoolExecutor executor() {
+        ThreadPoolExecutor pool = executor;
+        if (pool == null) {
+            synchronized (this) {
+                pool = executor;
+                if (pool == null) {
+                    AtomicInteger count = new AtomicInteger();
+                    pool = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                            new ArrayBlockingQueue<>(threads * 16), runnable -> {
+                                Thread thread = new Thread(runnable, "masking-worker-" + count.incrementAndGet());
+                                thread.setDaemon(true);
+                                return thread;
+                            }, new ThreadPoolExecutor.CallerRunsPolicy());
+                    pool.allowCoreThreadTimeOut(true);
+                    executor = pool;
+                }
+            }
+        }
+        return pool;
+    }
+
+    /** Stops the worker threads; a later call to {@link #mask} starts new ones. */
+    public synchronized void shutdown() {
+        if (executor != null) {
+            executor.shutdown();
+            executor = null;
+        }
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 BreninSul
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package files.logging;
+
+/**
+ * Finds cut points for masking a text in pieces, in one forward pass over it. A cut goes
+ * right after a separator (<code>, &amp; ; &gt; } ]</code> or whitespace) and is safe
+ * when it is outside a quoted string, a tag, a multipart part and every bracket and XML
+ * element, and has no {@code :} or {@code =} right before or after it, so that no key is
+ * separated from its value and no document is split.
+ * <p>
+ * This follows what the built-in maskers match; a {@link MaskingRules} pattern that spans
+ * such a cut is not seen whole. Only safe cuts keep a key whose value is a container
+ * together with all of it. Positions are relative to the text passed in and can be moved
+ * with {@link #shift(int)} when its head is dropped.
+ */
+final class SafeCuts {
+    private int position;
+    private char previous = '\n';
+    private char previousNonBlank = ',';
+    private char quote;
+    private boolean escaped;
+    private boolean inTag;
+    private boolean closingTag;
+    private boolean inText;
+    private boolean inPart;
+    private int depth;
+    private int elements;
+    private int candidate = -1;
+    private int lastSafe = -1;
+
+    /** Largest position {@code <= from} that follows a separator, or -1. */
+    static int lastCut(CharSequence text, int from) {
+        for (int i = Math.min(from, text.length()); i > 0; i--) {
+            if (isSeparator(text.charAt(i - 1))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    static boolean isSeparator(char c) {
+        return c == ',' || c == '&' || c == ';' || c == '>' || c == '}' || c == ']' || Character.isWhitespace(c);
+    }
+
+    /** Position up to which the text has been scanned. */
+    int position() {
+        return position;
+    }
+
+    /** Latest safe cut found so far, or -1. */
+    int lastSafe() {
+        return lastSafe;
+    }
+
+    /**
+     * Scans {@code text} up to {@code to}. A cut at {@code to} itself is confirmed by
+     * looking at the text after it, which is left for the next call.
+     */
+    void scan(CharSequence text, int to) {
+        while (position < to) {
+            step(text, position);
+        }
+        lookAhead(text);
+    }
+
+    /**
+     * Scans {@code text} up to {@code to} and stops at the first safe cut after the
+     * current position, returning it; returns -1 when there is none yet.
+     */
+    int nextSafe(CharSequence text, int to) {
+        int last = lastSafe;
+        while (position < to) {
+            step(text, position);
+            if (lastSafe != last) {
+                return lastSafe;
+            }
+        }
+        lookAhead(text);
+        return lastSafe != last ? lastSafe : -1;
+    }
+
+    /** Moves all positions back by {@code count}, after the head of the text was dropped. */
+    void shift(int count) {
+        position -= count;
+        candidate = candidate >= count ? candidate - count : -1;
+        lastSafe = lastSafe >= count ? lastSafe - count : -1;
+    }
+
+    private void step(CharSequence text, int i) {
+        char c = text.charAt(i);
+        position = i + 1;
+        if (quote != 0) {
+            if (escaped) {
+                escaped = false;
+            } else if (c == '\\' && quote == '"') {
+                escaped = true;
+            } else if (c == quote || c == '\n' || c == '\r') {
+                // strings do not span lines, so a stray quote only holds cuts back to the line end
+                quote = 0;
+            }
+            previous = c;
+            previousNonBlank = c;
+            return;
+        }
+        boolean blank = Character.isWhitespace(c);
+        if (!blank && candidate >= 0) {
+            confirm(c);
+        }
+        if (previous == '\n' || previous == '\r') {
+            if (regionMatches(text, i, "--")) {
+                inPart = false;
+            } else if (regionMatches(text, i, "content-disposition")) {
+                inPart = true;
+            }
+        }
+        switch (c) {
+            case '"':
+                quote = c;
+                break;
+            case '\'':
+                // an apostrophe inside a word does not open a string
+                if (!Character.isLetterOrDigit(previous)) {
+                    quote = c;
+                }
+                break;
+            case '{':
+            case '[':
+                depth++;
+                break;
+            case '}':
+            case ']':
+                if (depth > 0) {
+                    depth--;
+                }
+                break;
+            case '<':
+                inText = false;
+                if (i + 1 < text.length()) {
+                    char next = text.charAt(i + 1);
+                    if (next == '/') {
+                        inTag = true;
+                        closingTag = true;
+                        if (elements > 0) {
+                            elements--;
+                        }
+                    } else if (Character.isLetter(next)
+                            && (Character.isWhitespace(previous) || previous == '>')) {
+                        // a generic type such as List<String> is not a tag
+                        inTag = true;
+                        closingTag = false;
+                    }
+                }
+                break;
+            case '>':
+                if (inTag) {
+                    inTag = false;
+                    if (!closingTag && previous != '/') {
+                        elements++;
+                        inText = true;
+                    }
+                }
+                break;
+            default:
+        }
+        previous = c;
+        if (!blank) {
+            previousNonBlank = c;
+        }
+        if (isSeparator(c) && quote == 0 && !inTag && !inText && !inPart && depth == 0 && elements == 0
+                && previousNonBlank != ':' && previousNonBlank != '=') {
+            candidate = position;
+        }
+    }
+
+    /** Confirms the pending cut unless the next non-blank char ties it to a value. */
+    private void confirm(char next) {
+        if (next != ':' && next != '=') {
+            lastSafe = candidate;
+        }
+        candidate = -1;
+    }
+
+    private void lookAhead(CharSequence text) {
+        for (int i = position; candidate >= 0 && i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (!Character.isWhitespace(c)) {
+                confirm(c);
+            }
+        }
+    }
+
+    private static boolean regionMatches(CharSequence text, int from, String prefix) {
+        if (text.length() - from < prefix.length()) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            if (Character.toLowerCase(text.charAt(from + i)) != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 BreninSul
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package files.logging;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded pool of scratch {@link StringBuilder}s and {@code char[]}, {@code int[]} and
+ * {@code long[]} arrays for the masking hot path.
+ * <p>
+ * Buffers are not kept per thread, so a service logging from hundreds of thousands of
+ * virtual threads holds no more of them than one with a handful of platform threads.
+ * Each kind of buffer has one slot per stripe; a thread takes from and gives back to the
+ * stripe its id hashes to, or the next one, with a compare-and-set and never waits. When
+ * both slots are empty a new buffer is allocated, and when both are taken the buffer given
+ * back is dropped, as is any buffer grown past the size cap, so the pool never holds more
+ * than {@code stripes * 4} buffers of at most the cap each.
+ * <p>
+ * The carrier of a virtual thread is not visible to the application, so stripes are picked
+ * by thread id, which spreads virtual threads over the stripes as evenly as platform ones.
+ */
+public class ScratchBuffers {
+    /** Builders and {@code char[]} arrays above this many chars are dropped rather than kept. */
+    public static final int DEFAULT_MAX_CHARS = 64 << 10;
+    /** {@code int[]} and {@code long[]} arrays above this many elements are dropped rather than kept. */
+    public static final int DEFAULT_MAX_ELEMENTS = 8 << 10;
+    private static final int PROBES = 2;
+
+    private static final ScratchBuffers SHARED = new ScratchBuffers(
+            Runtime.getRuntime().availableProcessors() * 4,
+            DEFAULT_MAX_CHARS, DEFAULT_MAX_ELEMENTS);
+    private static final ScratchBuffers NONE = new ScratchBuffers(0, 0, 0);
+
+    protected final int maxChars;
+    protected final int maxElements;
+    private final int mask;
+    private final AtomicReferenceArray<StringBuilder> builders;
+    private final AtomicReferenceArray<char[]> chars;
+    private final AtomicReferenceArray<int[]> ints;
+    private final AtomicReferenceArray<long[]> longs;
+
+    /**
+     * @param stripes     slots per kind of buffer, rounded up to a power of two; 0 keeps nothing
+     * @param maxChars    largest builder or {@code char[]} kept
+     * @param maxElements largest {@code int[]} or {@code long[]} kept
+     */
+    public ScratchBuffers(int stripes, int maxChars, int maxElements) {
+        if (stripes < 0 || maxChars < 0 || maxElements < 0) {
+            throw new IllegalArgumentException("Stripes and caps must not be negative");
+        }
+        int slots = stripes == 0 ? 0 : Integer.highestOneBit(Math.max(1, stripes * 2 - 1));
+        this.mask = slots - 1;
+        this.maxChars = slots == 0 ? -1 : maxChars;
+        this.maxElements = slots == 0 ? -1 : maxElements;
+        this.builders = new AtomicReferenceArray<>(slots);
+        this.chars = new AtomicReferenceArray<>(slots);
+        this.ints = new AtomicReferenceArray<>(slots);
+        this.longs = new AtomicReferenceArray<>(slots);
+    }
+
+    /** The pool used by the maskers and {@link MaskLogEventFactory} unless replaced; four stripes per core. */
+    public static ScratchBuffers shared() {
+        return SHARED;
+    }
+
+    /** A pool that keeps nothing, so every buffer is freshly allocated. */
+    public static ScratchBuffers none() {
+        return NONE;
+    }
+
+    /** An empty builder with room for at least {@code capacity} chars. */
+    public StringBuilder builder(int capacity) {
+        StringBuilder builder = take(builders);
+        if (builder == null) {
+            return new StringBuilder(capacity);
+        }
+        builder.setLength(0);
+        builder.ensureCapacity(capacity);
+        return builder;
+    }
+
+    /** Returns the builder's contents and gives the builder back. */
+    public String finish(StringBuilder builder) {
+        String result = builder.toString();
+        release(builder);
+        return result;
+    }
+
+    public void release(StringBuilder builder) {
+        if (builder != null && builder.capacity() <= maxChars) {
+            give(builders, builder);
+        }
+    }
+
+    /** An array of at least {@code length} chars with unspecified contents. */
+    public char[] chars(int length) {
+        char[] array = take(chars);
+        return array != null && array.length >= length ? array : new char[length];
+    }
+
+    public void release(char[] array) {
+        if (array != null && array.length <= maxChars) {
+            give(chars, array);
+        }
+    }
+
+    /** An array of at least {@code length} ints with unspecified contents. */
+    public int[] ints(int length) {
+        int[] array = take(ints);
+        return array != null && array.length >= length ? array : new int[length];
+    }
+
+    public void release(int[] array) {
+        if (array != null && array.length <= maxElements) {
+            give(ints, array);
+        }
+    }
+
+    /** An array of at least {@code length} longs, the first {@code length} of them zero. */
+    public long[] longs(int length) {
+        long[] array = take(longs);
+        if (array == null || array.length < length) {
+            return new long[length];
+        }
+        Arrays.fill(array, 0, length, 0L);
+        return array;
+    }
+
+    public void release(long[] array) {
+        if (array != null && array.length <= maxElements) {
+            give(longs, array);
+        }
+    }
+
+    @SuppressWarnings("deprecation") // Thread.threadId() needs Java 19
+    private int stripe() {
+        long id = Thread.currentThread().getId() * 0x9E3779B97F4A7C15L;
+        return (int) (id ^ (id >>> 32));
+    }
+
+    private <T> T take(AtomicReferenceArray<T> slots) {
+        int stripe = stripe();
+        for (int probe = 0; probe < PROBES && probe <= mask; probe++) {
+            int slot = (stripe + probe) & mask;
+            T value = slots.get(slot);
+            if (value != null && slots.compareAndSet(slot, value, null)) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    private <T> void give(AtomicReferenceArray<T> slots, T value) {
+        int stripe = stripe();
+        for (int probe = 0; probe < PROBES && probe <= mask; probe++) {
+            int slot = (stripe + probe) & mask;
+            if (slots.get(slot) == null && slots.compareAndSet(slot, null, value)) {
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,310 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 BreninSul
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package files.logging;
+
+import java.util.ArrayList;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.UnaryOperator;
+
+/**
+ * Runs a candidate masking engine next to the primary one on a sample of the messages,
+ * without affecting what is logged. The primary result is always returned; for a
+ * {@link #sampleRate} fraction of the messages the input and the primary result are
+ * also handed to a single daemon thread, which masks the input with the candidate and
+ * compares both outputs.
+ * <p>
+ * Samples go through a queue of {@link #queueCapacity} entries and are dropped when it
+ * is full, so a slow candidate never blocks or slows down the logging thread. Outcomes
+ * are kept in counters, and the last {@link #MAX_DIVERGENCES} divergences are kept with
+ * every letter and digit redacted, so they show where the engines disagree without
+ * retaining the data either of them failed to mask.
+ * <pre>{@code
+ * MaskLogEventFactory.jsonMasking =
+ *         new ShadowMasking(MaskLogEventFactory.jsonMasking, new MyJsonMasking(), 0.01);
+ * }</pre>
+ */
+public class ShadowMasking implements HttpBodyMasking, HttpUriMasking {
+    public static final int DEFAULT_QUEUE_CAPACITY = 1024;
+    public static final int MAX_DIVERGENCES = 16;
+    private static final int CONTEXT = 32;
+
+    protected final UnaryOperator<String> primary;
+    protected final UnaryOperator<String> candidate;
+    protected final HttpBodyType type;
+    protected final int triggers;
+    protected final double sampleRate;
+    protected final int queueCapacity;
+
+    private final LongAdder sampled = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder compared = new LongAdder();
+    private final LongAdder divergences = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder primaryNanos = new LongAdder();
+    private final LongAdder candidateNanos = new LongAdder();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final Deque<Divergence> recent = new ArrayDeque<>();
+    private volatile ThreadPoolExecutor executor;
+
+    public ShadowMasking(HttpBodyMasking primary, HttpBodyMasking candidate, double sampleRate) {
+        this(primary::mask, candidate::mask, primary.type(),
+                union(primary.triggers(), candidate.triggers()), sampleRate, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    public ShadowMasking(HttpUriMasking primary, HttpUriMasking candidate, double sampleRate) {
+        this(primary::mask, candidate::mask, HttpBodyType.OTHER,
+                union(primary.triggers(), candidate.triggers()), sampleRate, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    public ShadowMasking(UnaryOperator<String> primary, UnaryOperator<String> candidate, HttpBodyType type,
+                         int triggers, double sampleRate, int queueCapacity) {
+        if (!(sampleRate >= 0 && sampleRate <= 1) || queueCapacity <= 0) {
+            throw new IllegalArgumentException("Need 0 <= sampleRate <= 1 and queueCapacity > 0");
+        }
+        this.primary = primary;
+        this.candidate = candidate;
+        this.type = type;
+        this.triggers = triggers;
+        this.sampleRate = sampleRate;
+        this.queueCapacity = queueCapacity;
+    }
+
+    @Override
+    public String mask(String message) {
+        if (sampleRate == 0 || ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return primary.apply(message);
+        }
+        long start = System.nanoTime();
+        String masked = primary.apply(message);
+        long nanos = System.nanoTime() - start;
+        sampled.increment();
+        pending.incrementAndGet();
+        executor().execute(() -> compare(message, masked, nanos));
+        return masked;
+    }
+
+    @Override
+    public HttpBodyType type() {
+        return type;
+    }
+
+    @Override
+    public int triggers() {
+        return triggers;
+    }
+
+    private void compare(String message, String masked, long nanos) {
+        try {
+            String shadow;
+            long start = System.nanoTime();
+            try {
+                shadow = candidate.apply(message);
+            } catch (RuntimeException e) {
+                failures.increment();
+                return;
+            }
+            candidateNanos.add(System.nanoTime() - start);
+            primaryNanos.add(nanos);
+            compared.increment();
+            if (!masked.equals(shadow)) {
+                divergences.increment();
+                Divergence divergence = Divergence.of(masked, shadow);
+                synchronized (recent) {
+                    if (recent.size() == MAX_DIVERGENCES) {
+                        recent.removeFirst();
+                    }
+                    recent.addLast(divergence);
+                }
+            }
+        } finally {
+            // only now, so awaitIdle sees the counters of every compared sample
+            pending.decrementAndGet();
+        }
+    }
+
+    /** Messages handed to the candidate, including those dropped by a full queue or shutdown. */
+    public long sampled() {
+        return sampled.sum();
+    }
+
+    public long dropped() {
+        return dropped.sum();
+    }
+
+    /** Messages masked by both engines. */
+    public long compared() {
+        return compared.sum();
+    }
+
+    public long divergences() {
+        return divergences.sum();
+    }
+
+    /** Samples on which the candidate threw. */
+    public long failures() {
+        return failures.sum();
+    }
+
+    public long primaryNanos() {
+        return primaryNanos.sum();
+    }
+
+    public long candidateNanos() {
+        return candidateNanos.sum();
+    }
+
+    /** Candidate time over primary time on the compared messages, or {@code NaN} before any. */
+    public double relativeTime() {
+        long primary = primaryNanos.sum();
+        return primary == 0 ? Double.NaN : (double) candidateNanos.sum() / primary;
+    }
+
+    /** The latest divergences, oldest first. */
+    public List<Divergence> recentDivergences() {
+        synchronized (recent) {
+            return new ArrayList<>(recent);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ShadowMasking[sampled=%d, dropped=%d, compared=%d, divergences=%d, failures=%d,"
+                        + " relativeTime=%.2f]", sampled(), dropped(), compared(), divergences(), failures(),
+                relativeTime());
+    }
+
+    private static int union(int primary, int candidate) {
+        return primary == TriggerScanner.ANY || candidate == TriggerScanner.ANY
+                ? TriggerScanner.ANY : primary | candidate;
+    }
+
+    private ThreadPoolExecutor executor() {
+        ThreadPoolExecutor pool = executor;
+        if (pool == null) {
+            synchronized (this) {
+                pool = executor;
+                if (pool == null) {
+                    pool = new ThreadPoolExecutor(1, 1, 30, TimeUnit.SECONDS,
+                            new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                                Thread thread = new Thread(runnable, "masking-shadow");
+                                thread.setDaemon(true);
+                                thread.setPriority(Thread.MIN_PRIORITY);
+                                return thread;
+                            }, (runnable, rejectedBy) -> {
+                                pending.decrementAndGet();
+                                dropped.increment();
+                            });
+                    pool.allowCoreThreadTimeOut(true);
+                    executor = pool;
+                }
+            }
+        }
+        return pool;
+    }
+
+    /**
+     * Waits up to {@code timeout} for the queued samples to be compared, returning
+     * whether the queue drained in time.
+     */
+    public boolean awaitIdle(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (pending.get() > 0) {
+            if (System.nanoTime() >= deadline) {
+                return false;
+            }
+            Thread.sleep(1);
+        }
+        return true;
+    }
+
+    /**
+     * Stops the comparing thread, discarding queued samples as dropped; a later sample
+     * starts a new one.
+     */
+    public synchronized void shutdown() {
+        if (executor != null) {
+            int discarded = executor.shutdownNow().size();
+            pending.addAndGet(-discarded);
+            dropped.add(discarded);
+            executor = null;
+        }
+    }
+
+    /**
+     * Where two outputs first differ, with the {@link #CONTEXT} chars around it from
+     * each side. Letters are replaced with {@code x} and digits with {@code 9}.
+     */
+    public static final class Divergence {
+        public final int offset;
+        public final int primaryLength;
+        public final int candidateLength;
+        public final String primary;
+        public final String candidate;
+
+        private Divergence(int offset, int primaryLength, int candidateLength, String primary, String candidate) {
+            this.offset = offset;
+            this.primaryLength = primaryLength;
+            this.candidateLength = candidateLength;
+            this.primary = primary;
+            this.candidate = candidate;
+        }
+
+        static Divergence of(String primary, String candidate) {
+            int offset = 0;
+            int common = Math.min(primary.length(), candidate.length());
+            while (offset < common && primary.charAt(offset) == candidate.charAt(offset)) {
+                offset++;
+            }
+            return new Divergence(offset, primary.length(), candidate.length(),
+                    redact(primary, offset), redact(candidate, offset));
+        }
+
+        static String redact(String text, int offset) {
+            int from = Math.max(0, offset - CONTEXT);
+            int to = Math.min(text.length(), offset + CONTEXT);
+            StringBuilder sb = new StringBuilder(to - from);
+            for (int i = from; i < to; i++) {
+                char c = text.charAt(i);
+                sb.append(Character.isDigit(c) ? '9' : Character.isLetter(c) || Character.isSurrogate(c) ? 'x' : c);
+            }
+            return sb.toString();
+        }
+
+        @Override
+        public String toString() {
+            return "Divergence[offset=" + offset + ", primaryLength=" + primaryLength
+                    + ", candidateLength=" + candidateLength + ", primary=" + primary
+                    + ", candidate=" + candidate + "]";
+        }
+    }
+}
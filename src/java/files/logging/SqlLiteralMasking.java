@@ -0,0 +1,372 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 BreninSul
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package files.logging;
+
+import java.util.Collection;
+
+/**
+ * Masks the literals of SQL statements that are compared with or assigned to one of the
+ * configured columns, as printed by JDBC and ORM statement logging:
+ * <pre>
+ * UPDATE users SET password='s3cret' WHERE api_key = 'k' AND id IN (1, 2)
+ * UPDATE users SET password='&lt;MASKED&gt;' WHERE api_key = '&lt;MASKED&gt;' AND id IN (1, 2)
+ * </pre>
+ * The statement is tokenized in one pass, just far enough to tell string and numeric
+ * literals, plain, dotted and quoted identifiers, operators and comments apart. Quotes
+ * inside strings may be doubled or escaped with a backslash. A column followed by
+ * {@code = <> != < > <= >= :=}, {@code LIKE}, {@code ILIKE}, {@code IN} or
+ * {@code BETWEEN}, optionally after {@code NOT}, binds every literal of the expression
+ * after it, up to the next {@code ,}, closing parenthesis, {@code ;} or clause keyword,
+ * so {@code IN} lists and function arguments are covered. {@code INSERT} column lists
+ * are matched with the {@code VALUES} tuples by position. In value positions a
+ * double-quoted token is taken for a string, as MySQL reads it; elsewhere it is an
+ * identifier. With {@link #maskAllLiterals} every literal is masked.
+ * <p>
+ * Messages without a statement keyword ({@code SELECT}, {@code INSERT}, {@code UPDATE},
+ * {@code DELETE}, {@code MERGE}, {@code UPSERT} or {@code REPLACE} as a whole word) are
+ * returned after a single scan for the keyword; tokenizing starts at the first one.
+ */
+public class SqlLiteralMasking implements HttpBodyMasking {
+    private static final String[] STATEMENTS = {"select", "insert", "update", "delete", "merge", "upsert", "replace"};
+    private static final String[] CLAUSES = {
+            "and", "or", "where", "set", "from", "order", "group", "having", "limit", "offset", "returning",
+            "on", "join", "union", "when", "then", "else", "end", "into", "values", "select", "update",
+            "delete", "insert"};
+    private static final int MAX_INSERT_COLUMNS = 64;
+
+    protected Collection<String> fields;
+    protected final boolean maskAllLiterals;
+    protected String emptyBody = "";
+    protected String maskedBody = "<MASKED>";
+    protected MaskingKeys keys;
+    protected ScratchBuffers buffers = ScratchBuffers.shared();
+
+    public SqlLiteralMasking(Collection<String> fields) {
+        this(fields, false);
+    }
+
+    public SqlLiteralMasking(Collection<String> fields, boolean maskAllLiterals) {
+        this.fields = fields;
+        this.keys = MaskingKeys.of(fields);
+        this.maskAllLiterals = maskAllLiterals;
+    }
+
+    @Override
+    public String mask(String message) {
+        if (message == null) {
+            return emptyBody;
+        }
+        int start = statementStart(message);
+        return start < 0 ? message : new Scan(message).run(start);
+    }
+
+    /** Offset of the first statement keyword standing as a word, or -1. */
+    static int statementStart(String text) {
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = (char) (text.charAt(i) | 0x20);
+            if ((c == 's' || c == 'i' || c == 'u' || c == 'd' || c == 'm' || c == 'r')
+                    && (i == 0 || !isWordChar(text.charAt(i - 1)))) {
+                for (String keyword : STATEMENTS) {
+                    int end = i + keyword.length();
+                    if (keyword.charAt(0) == c && text.regionMatches(true, i, keyword, 0, keyword.length())
+                            && (end == length || !isWordChar(text.charAt(end)))) {
+                        return i;
+                    }
+                }
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isWordChar(char c) {
+        return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9' || c == '_' || c == '$'
+                || c >= 0x80 && Character.isLetterOrDigit(c);
+    }
+
+    private static boolean isWord(String text, int start, int end, String word) {
+        return end - start == word.length() && text.regionMatches(true, start, word, 0, word.length());
+    }
+
+    private static boolean isClause(String text, int start, int end) {
+        for (String clause : CLAUSES) {
+            if (isWord(text, start, end, clause)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** One pass over one message; all state is in fields so the tokens need no objects. */
+    private final class Scan {
+        private final String text;
+        private final int length;
+        private StringBuilder masked;
+        private int copied;
+        private int depth;
+        // the identifier just seen, as [columnStart, columnEnd), or columnStart < 0
+        private int columnStart = -1;
+        private int columnEnd;
+        // an operand bound to a sensitive column is being read, opened at operandDepth
+        private boolean operand;
+        private boolean bound;
+        private int operandDepth;
+        private boolean between;
+        // INSERT: 1 before the column list, 2 inside it, 3 before VALUES, 4 in the tuples
+        private int insert;
+        private long keyColumns;
+        private int column;
+
+        Scan(String text) {
+            this.text = text;
+            this.length = text.length();
+        }
+
+        String run(int from) {
+            int i = from;
+            while (i < length) {
+                char c = text.charAt(i);
+                if (c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == '\f') {
+                    i++;
+                } else if (c == '\'') {
+                    int end = endOfString(i, '\'');
+                    literal(i, end, true);
+                    i = end;
+                } else if (c == '"' || c == '`') {
+                    int end = endOfString(i, c);
+                    if (c == '"' && inValuePosition()) {
+                        literal(i, end, true);
+                    } else {
+                        identifier(i + 1, Math.max(i + 1, end - 1));
+                    }
+                    i = end;
+                } else if (c == '-' && i + 1 < length && text.charAt(i + 1) == '-') {
+                    i = text.indexOf('\n', i);
+                    i = i < 0 ? length : i;
+                } else if (c == '/' && i + 1 < length && text.charAt(i + 1) == '*') {
+                    i = text.indexOf("*/", i + 2);
+                    i = i < 0 ? length : i + 2;
+                } else if (c >= '0' && c <= '9' || c == '.' && i + 1 < length && isDigit(text.charAt(i + 1))) {
+                    int end = endOfNumber(i);
+                    literal(i, end, false);
+                    i = end;
+                } else if (isWordChar(c)) {
+                    int end = i + 1;
+                    while (end < length && (isWordChar(text.charAt(end)) || text.charAt(end) == '.')) {
+                        end++;
+                    }
+                    if (end - i == 1 && end < length && text.charAt(end) == '\'' && "NnEeBbXx".indexOf(c) >= 0) {
+                        // prefixed string such as N'...'; the prefix is kept
+                        int stringEnd = endOfString(end, '\'');
+                        literal(end, stringEnd, true);
+                        i = stringEnd;
+                    } else {
+                        word(i, end);
+                        i = end;
+                    }
+                } else if (c == '=' || c == '<' || c == '>' || c == '!' || c == ':') {
+                    int end = i + 1;
+                    while (end < length && "=<>!:".indexOf(text.charAt(end)) >= 0) {
+                        end++;
+                    }
+                    operator(i, end);
+                    i = end;
+                } else {
+                    punctuation(c);
+                    i++;
+                }
+            }
+            return masked == null ? text : buffers.finish(masked.append(text, copied, length));
+        }
+
+        private boolean inValuePosition() {
+            return operand || insert == 4 && depth > 0;
+        }
+
+        private void literal(int start, int end, boolean quoted) {
+            boolean sensitive = maskAllLiterals
+                    || operand && bound
+                    || insert == 4 && depth > 0 && column < MAX_INSERT_COLUMNS && (keyColumns & 1L << column) != 0;
+            if (sensitive) {
+                if (masked == null) {
+                    masked = buffers.builder(length + 16);
+                }
+                masked.append(text, copied, start);
+                if (quoted) {
+                    masked.append(text.charAt(start)).append(maskedBody);
+                    if (end - start > 1 && text.charAt(end - 1) == text.charAt(start)) {
+                        masked.append(text.charAt(start));
+                    }
+                } else {
+                    masked.append(maskedBody);
+                }
+                copied = end;
+            }
+            columnStart = -1;
+        }
+
+        private void identifier(int start, int end) {
+            // dotted names are looked up by their last part
+            int last = end;
+            while (last > start && text.charAt(last - 1) != '.') {
+                last--;
+            }
+            columnStart = last;
+            columnEnd = end;
+            if (insert == 2 && depth == 1 && column < MAX_INSERT_COLUMNS && keys.contains(text, columnStart, end)) {
+                keyColumns |= 1L << column;
+            }
+        }
+
+        private void word(int start, int end) {
+            if (columnStart >= 0 && isWord(text, start, end, "not")) {
+                return;
+            }
+            if (columnStart >= 0 && (isWord(text, start, end, "like") || isWord(text, start, end, "ilike")
+                    || isWord(text, start, end, "in") || isWord(text, start, end, "between"))) {
+                open(isWord(text, start, end, "between"));
+                return;
+            }
+            if (operand && depth == operandDepth && isClause(text, start, end)) {
+                if (between && isWord(text, start, end, "and")) {
+                    between = false;
+                    return;
+                }
+                operand = false;
+            }
+            boolean clause = isClause(text, start, end);
+            if (isWord(text, start, end, "insert")) {
+                insert = 1;
+            } else if (isWord(text, start, end, "values") && (insert == 1 || insert == 3)) {
+                insert = 4;
+            } else if (clause && (insert == 1 || insert == 3 || insert == 4 && depth == 0)) {
+                // INSERT ... SELECT, or ON DUPLICATE KEY UPDATE after the tuples
+                insert = insert == 1 && isWord(text, start, end, "into") ? 1 : 0;
+            }
+            if (clause) {
+                columnStart = -1;
+            } else {
+                identifier(start, end);
+            }
+        }
+
+        private void operator(int start, int end) {
+            boolean comparison = false;
+            for (int i = start; i < end; i++) {
+                char c = text.charAt(i);
+                comparison |= c == '=' || c == '<' || c == '>';
+            }
+            if (comparison && columnStart >= 0) {
+                open(false);
+            } else {
+                columnStart = -1;
+            }
+        }
+
+        private void open(boolean isBetween) {
+            operand = true;
+            bound = keys.contains(text, columnStart, columnEnd);
+            operandDepth = depth;
+            between = isBetween;
+            columnStart = -1;
+        }
+
+        private void punctuation(char c) {
+            if (c == '(') {
+                depth++;
+                if (insert == 1 && depth == 1) {
+                    insert = 2;
+                    keyColumns = 0;
+                    column = 0;
+                } else if (insert == 4 && depth == 1) {
+                    column = 0;
+                }
+            } else if (c == ')') {
+                if (operand && depth == operandDepth) {
+                    operand = false;
+                }
+                depth = Math.max(0, depth - 1);
+                if (insert == 2 && depth == 0) {
+                    insert = 3;
+                }
+            } else if (c == ',') {
+                if (operand && depth == operandDepth) {
+                    operand = false;
+                }
+                if ((insert == 2 || insert == 4) && depth == 1) {
+                    column++;
+                }
+            } else if (c == ';') {
+                operand = false;
+                insert = 0;
+                depth = 0;
+            }
+            columnStart = -1;
+        }
+
+        private int endOfString(int start, char quote) {
+            int i = start + 1;
+            while (i < length) {
+                char c = text.charAt(i);
+                if (c == '\\' && quote == '\'') {
+                    i += 2;
+                } else if (c == quote) {
+                    if (i + 1 < length && text.charAt(i + 1) == quote) {
+                        i += 2;
+                    } else {
+                        return i + 1;
+                    }
+                } else {
+                    i++;
+                }
+            }
+            return length;
+        }
+
+        private int endOfNumber(int start) {
+            int i = start;
+            while (i < length) {
+                char c = text.charAt(i);
+                if (isDigit(c) || c == '.' || c == 'x' || c == 'X' || c >= 'a' && c <= 'f' || c >= 'A' && c <= 'F') {
+                    i++;
+                } else if ((c == '+' || c == '-') && (text.charAt(i - 1) | 0x20) == 'e') {
+                    i++;
+                } else {
+                    break;
+                }
+            }
+            return i;
+        }
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    @Override
+    public HttpBodyType type() {
+        return HttpBodyType.OTHER;
+    }
+}
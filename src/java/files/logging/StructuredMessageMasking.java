@@ -0,0 +1,120 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 BreninSul
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package files.logging;
+
+import org.apache.logging.log4j.message.MapMessage;
+import org.apache.logging.log4j.message.Message;
+import org.apache.logging.log4j.message.ObjectMessage;
+import org.apache.logging.log4j.util.TriConsumer;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+/**
+ * Masks {@link MapMessage} (and so {@link org.apache.logging.log4j.message.StringMapMessage})
+ * and {@link ObjectMessage} wrapping a {@link Map} field by field, before the message is rendered.
+ * Keys are looked up in a {@link MaskingKeys} table, so no rendered text is scanned for them.
+ * Values of other keys only pass through {@link #valueMasking}, so URIs or JSON embedded in a
+ * single field are still masked. Nested maps and collections are masked the same way.
+ */
+public class StructuredMessageMasking {
+    protected MaskingKeys keys;
+    protected String maskedBody = "<MASKED>";
+    protected UnaryOperator<String> valueMasking = MaskLogEventFactory::maskText;
+
+    public StructuredMessageMasking(Collection<String> fields) {
+        this.keys = MaskingKeys.of(fields);
+    }
+
+    public boolean supports(Message message) {
+        return message instanceof MapMessage
+                || (message instanceof ObjectMessage && ((ObjectMessage) message).getParameter() instanceof Map);
+    }
+
+    /**
+     * Returns a copy of the message with masked values, or the message itself when
+     * it is not a structured message.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public Message mask(Message message) {
+        if (message instanceof MapMessage) {
+            MapMessage mapMessage = (MapMessage) message;
+            Map<String, Object> masked = new LinkedHashMap<>();
+            mapMessage.forEach((TriConsumer<String, Object, Map<String, Object>>) this::putMasked, masked);
+            return mapMessage.newInstance(masked);
+        }
+        if (message instanceof ObjectMessage && ((ObjectMessage) message).getParameter() instanceof Map) {
+            Map<?, ?> data = (Map<?, ?>) ((ObjectMessage) message).getParameter();
+            Map<String, Object> masked = new LinkedHashMap<>();
+            for (Map.Entry<?, ?> entry : data.entrySet()) {
+                putMasked(String.valueOf(entry.getKey()), entry.getValue(), masked);
+            }
+            return new ObjectMessage(masked);
+        }
+        return message;
+    }
+
+    protected void putMasked(String key, Object value, Map<String, Object> target) {
+        target.put(key, maskValue(key, value));
+    }
+
+    /**
+     * Masks one value: nested maps are masked by their own keys, elements of a collection
+     * take the key of the collection, and any other value is masked as its
+     * {@code toString()}, keeping the value itself when nothing was masked.
+     */
+    protected Object maskValue(String key, Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (keys.contains(key)) {
+            return maskedBody;
+        }
+        if (value instanceof String) {
+            return valueMasking.apply((String) value);
+        }
+        if (value instanceof Map) {
+            Map<String, Object> masked = new LinkedHashMap<>();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                putMasked(String.valueOf(entry.getKey()), entry.getValue(), masked);
+            }
+            return masked;
+        }
+        if (value instanceof Collection) {
+            List<Object> masked = new ArrayList<>(((Collection<?>) value).size());
+            for (Object element : (Collection<?>) value) {
+                masked.add(maskValue(key, element));
+            }
+            return masked;
+        }
+        String text = value.toString();
+        String masked = valueMasking.apply(text);
+        return masked.equals(text) ? value : masked;
+    }
+}
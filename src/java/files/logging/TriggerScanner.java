@@ -0,0 +1,166 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 BreninSul
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package files.logging;
+
+/**
+ * Summarises which characters a masking stage needs occur in a message, so that stages
+ * whose trigger characters do not occur are skipped.
+ * <p>
+ * A scan produces the set of trigger characters {@code " = < { [ &} that occur and the
+ * longest run of
+ * {@code [0-9A-Za-z+/]} chars, which is what the hex and Base64 file and
+ * {@code SensitiveData} patterns need. {@link #get()} returns a scanner built on the
+ * incubating Vector API, which classifies a whole vector of chars (16 to 64 depending
+ * on the CPU) per step, when the {@code jdk.incubator.vector} module is present
+ * ({@code --add-modules jdk.incubator.vector}) and the {@code files.logging.vector}
+ * system property is not {@code false}; otherwise it returns the scalar scanner. Both
+ * give identical results.
+ */
+public abstract class TriggerScanner {
+    /** Trigger set of a stage that has to run whatever the message contains. */
+    public static final int ANY = -1;
+    public static final int QUOTE = 1;
+    public static final int EQUALS = 1 << 1;
+    public static final int LESS_THAN = 1 << 2;
+    public static final int BRACE = 1 << 3;
+    public static final int BRACKET = 1 << 4;
+    public static final int AMPERSAND = 1 << 5;
+
+    private static final TriggerScanner SCALAR = new Scalar();
+    private static final TriggerScanner BEST = load();
+
+    /** The vectorised scanner when the Vector API is available, the scalar one otherwise. */
+    public static TriggerScanner get() {
+        return BEST;
+    }
+
+    public static TriggerScanner scalar() {
+        return SCALAR;
+    }
+
+    public Triggers scan(String text) {
+        return scan(text, ScratchBuffers.none());
+    }
+
+    /**
+     * Scans with scratch space taken from {@code buffers} and given back before returning.
+     */
+    public abstract Triggers scan(String text, ScratchBuffers buffers);
+
+    public boolean isVectorized() {
+        return false;
+    }
+
+    private static TriggerScanner load() {
+        if ("false".equalsIgnoreCase(System.getProperty("files.logging.vector"))
+                || !ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            return SCALAR;
+        }
+        try {
+            return (TriggerScanner) Class.forName("files.logging.VectorTriggerScanner")
+                    .getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return SCALAR;
+        }
+    }
+
+    /** Trigger kind of {@code c}, or 0. */
+    protected static int kind(char c) {
+        switch (c) {
+            case '"':
+                return QUOTE;
+            case '=':
+                return EQUALS;
+            case '<':
+                return LESS_THAN;
+            case '{':
+                return BRACE;
+            case '[':
+                return BRACKET;
+            case '&':
+                return AMPERSAND;
+            default:
+                return 0;
+        }
+    }
+
+    protected static boolean isRunChar(char c) {
+        return (c >= '0' && c <= '9') || (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || c == '+' || c == '/';
+    }
+
+    /** Scans {@code text[from, length)} one char at a time into {@code triggers}. */
+    protected static void scanChars(String text, int from, Triggers triggers) {
+        for (int i = from; i < text.length(); i++) {
+            char c = text.charAt(i);
+            int kind = kind(c);
+            if (kind != 0) {
+                triggers.kinds |= kind;
+            }
+            if (isRunChar(c)) {
+                triggers.run++;
+            } else {
+                triggers.endRun();
+            }
+        }
+        triggers.endRun();
+    }
+
+    private static final class Scalar extends TriggerScanner {
+        @Override
+        public Triggers scan(String text, ScratchBuffers buffers) {
+            Triggers triggers = new Triggers();
+            scanChars(text, 0, triggers);
+            return triggers;
+        }
+    }
+
+    /**
+     * Result of a scan: trigger kinds present and longest run.
+     */
+    public static final class Triggers {
+        int kinds;
+        int longestRun;
+        int run;
+
+        void endRun() {
+            longestRun = Math.max(longestRun, run);
+            run = 0;
+        }
+
+        /** Whether any of the given trigger kinds occurs. */
+        public boolean has(int kinds) {
+            return (this.kinds & kinds) != 0;
+        }
+
+        public int kinds() {
+            return kinds;
+        }
+
+        /** Length of the longest run of {@code [0-9A-Za-z+/]} chars. */
+        public int longestRun() {
+            return longestRun;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 BreninSul
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package files.logging;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Masking of UTF-8 encoded text without decoding it to a {@link String}.
+ * <p>
+ * Every delimiter the maskers look for is ASCII, and in UTF-8 the bytes of a multi-byte
+ * character are all {@code >= 0x80}, so they can never be mistaken for a delimiter and
+ * masked ranges always start and end on character boundaries. Keys are compared byte by
+ * byte, so only ASCII keys match at this level.
+ */
+public interface Utf8Masking {
+
+    /**
+     * Masks the remaining bytes of {@code src} into {@code dst}, consuming {@code src}
+     * and advancing {@code dst} by the bytes written.
+     *
+     * @throws BufferOverflowException if {@code dst} has too little room; {@code src} is
+     *                                 then left unchanged and the position of {@code dst}
+     *                                 restored, though bytes past it may have been overwritten
+     */
+    void mask(ByteBuffer src, ByteBuffer dst);
+
+    /**
+     * Masks the remaining bytes of {@code src} into a new buffer, ready to be read.
+     */
+    default ByteBuffer mask(ByteBuffer src) {
+        int capacity = src.remaining() + 64;
+        while (true) {
+            ByteBuffer dst = ByteBuffer.allocate(capacity);
+            try {
+                mask(src, dst);
+                return dst.flip();
+            } catch (BufferOverflowException e) {
+                capacity *= 2;
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 BreninSul
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package files.logging;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Read-only {@link CharSequence} view of UTF-8 bytes in which every byte is one char,
+ * so the text scanners of the maskers run on a {@link ByteBuffer} as they do on a
+ * {@link String}: ASCII bytes read as themselves, and bytes of multi-byte characters
+ * read as chars {@code >= 0x80}, which match no delimiter and no ASCII key.
+ */
+final class Utf8Text implements CharSequence {
+    private final ByteBuffer bytes;
+    private final int base;
+    private final int length;
+
+    Utf8Text(ByteBuffer bytes) {
+        this(bytes, bytes.position(), bytes.remaining());
+    }
+
+    private Utf8Text(ByteBuffer bytes, int base, int length) {
+        this.bytes = bytes;
+        this.base = base;
+        this.length = length;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        return (char) (bytes.get(base + index) & 0xFF);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return new Utf8Text(bytes, base + start, end - start);
+    }
+
+    int indexOf(char c, int from) {
+        for (int i = from; i < length; i++) {
+            if (bytes.get(base + i) == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    int lastIndexOf(char c, int from) {
+        for (int i = Math.min(from, length - 1); i >= 0; i--) {
+            if (bytes.get(base + i) == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /** Copies bytes {@code [from, to)} into {@code dst}. */
+    void copyTo(ByteBuffer dst, int from, int to) {
+        int count = to - from;
+        if (dst.remaining() < count) {
+            throw new BufferOverflowException();
+        }
+        dst.put(dst.position(), bytes, base + from, count);
+        dst.position(dst.position() + count);
+    }
+
+    /** Moves the source buffer past the bytes of this text. */
+    void consume() {
+        bytes.position(base + length);
+    }
+
+    @Override
+    public String toString() {
+        byte[] copy = new byte[length];
+        bytes.get(base, copy);
+        return new String(copy, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 BreninSul
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package files.logging;
+
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.async.AsyncLoggerContext;
+import org.apache.logging.log4j.core.jmx.RingBufferAdmin;
+import org.apache.logging.log4j.message.MessageFactory;
+
+import java.lang.management.ManagementFactory;
+import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caller-side cost of logging parameterized messages through an {@link AsyncLoggerContext}
+ * booted from {@link LoggingLoadHarness#CONFIG}, with the logger's default message factory
+ * and with {@link MaskingMessageFactory}. Reports caller latency percentiles and bytes the
+ * caller allocates per event, for immutable parameters (the {@link LoggingLoadHarness}
+ * messages, a status and a duration) and with a mutable map of headers added.
+ * <pre>
+ * gradle deferredMaskingBenchmark --args="[--events N] [--dir DIR]"
+ * </pre>
+ */
+public class DeferredMaskingBenchmark {
+    private static final String FORMAT = "Request {} returned {} in {} ms";
+    private static final String MUTABLE_FORMAT = "Request {} returned {} in {} ms with headers {}";
+
+    public static void main(String[] args) throws Exception {
+        int events = 50_000;
+        Path dir = Paths.get("build", "load");
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (args[i].equals("--events")) {
+                events = Integer.parseInt(args[i + 1]);
+            } else if (args[i].equals("--dir")) {
+                dir = Paths.get(args[i + 1]);
+            }
+        }
+        String[] messages = Arrays.stream(new LoggingLoadHarness().messages).flatMap(Arrays::stream)
+                .toArray(String[]::new);
+        for (boolean mutable : new boolean[] {false, true}) {
+            for (MessageFactory factory : new MessageFactory[] {null, new MaskingMessageFactory()}) {
+                run(factory, mutable, messages, events / 4, dir);
+                LoggingLoadHarness.Result result = run(factory, mutable, messages, events, dir);
+                System.out.printf(Locale.ROOT, "%-8s %-9s caller p50 %.1f us, p99 %.1f us, p999 %.1f us, %s,"
+                                + " drained at %.0f events/s%n",
+                        factory == null ? "default" : "deferred", mutable ? "mutable" : "immutable",
+                        result.latency(0.5) / 1e3, result.latency(0.99) / 1e3, result.latency(0.999) / 1e3,
+                        result.allocatedBytes() < 0 ? "allocation not measurable"
+                                : String.format(Locale.ROOT, "%.0f B/event", result.bytesPerEvent()),
+                        result.eventsPerSecond());
+            }
+        }
+    }
+
+    /**
+     * Logs {@code events} messages from the calling thread into a fresh context writing to
+     * {@code dir}, with loggers from {@code factory}, or the default one when null. Allocation
+     * is the calling thread's only.
+     */
+    public static LoggingLoadHarness.Result run(MessageFactory factory, boolean mutable, String[] messages,
+                                                int events, Path dir) throws InterruptedException {
+        System.setProperty(LoggingLoadHarness.DIR_PROPERTY, dir.toString());
+        AsyncLoggerContext context;
+        try {
+            context = new AsyncLoggerContext("deferred", null,
+                    DeferredMaskingBenchmark.class.getClassLoader().getResource(LoggingLoadHarness.CONFIG).toURI());
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException(e);
+        }
+        context.start();
+        try {
+            Logger logger = factory == null
+                    ? context.getLogger("files.logging.deferred")
+                    : context.getLogger("files.logging.deferred", factory);
+            RingBufferAdmin ringBuffer = context.createRingBufferAdmin();
+            Map<String, Object> headers = new LinkedHashMap<>();
+            headers.put("Authorization", "Bearer 0a1b2c3d4e5f");
+            headers.put("X-Request-Id", 0);
+            long[] latencies = new long[events];
+            long allocated = allocatedBytes();
+            long begin = System.nanoTime();
+            for (int i = 0; i < events; i++) {
+                String message = messages[(i * 31) % messages.length];
+                long start = System.nanoTime();
+                if (mutable) {
+                    headers.put("X-Request-Id", i);
+                    logger.info(MUTABLE_FORMAT, message, 200, i % 500, headers);
+                } else {
+                    logger.info(FORMAT, message, 200, i % 500);
+                }
+                latencies[i] = System.nanoTime() - start;
+            }
+            allocated = allocatedBytes() - allocated;
+            while (ringBuffer.getRemainingCapacity() < ringBuffer.getBufferSize()) {
+                Thread.sleep(1);
+            }
+            long nanos = System.nanoTime() - begin;
+            Arrays.sort(latencies);
+            return new LoggingLoadHarness.Result(1, MaskLogEventFactory.IS_ENABLED_MASKING, latencies, nanos,
+                    LoggingLoadHarness.allocationSupported() ? allocated : -1);
+        } finally {
+            context.stop(30, TimeUnit.SECONDS);
+        }
+    }
+
+    private static long allocatedBytes() {
+        return LoggingLoadHarness.allocationSupported()
+                ? ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getCurrentThreadAllocatedBytes()
+                : 0;
+    }
+}
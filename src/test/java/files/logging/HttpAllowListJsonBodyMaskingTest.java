@@ -0,0 +1,87 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 BreninSul
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package files.logging;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class HttpAllowListJsonBodyMaskingTest {
+
+    private final HttpAllowListJsonBodyMasking masking = new HttpAllowListJsonBodyMasking(Arrays.asList("id", "status", "tags"));
+
+    @Test
+    public void testMaskEverythingButAllowedKeys() {
+        String input = "{\"id\": 42, \"Status\": \"OK\", \"card\": {\"pan\": \"4111\", \"exp\": 1228, \"id\": \"c1\"},"
+                + " \"flags\": [true, null], \"tags\": [\"a\", \"b\"], \"empty\": {}, \"note\": \"\"}";
+        String expected = "{\"id\": 42, \"Status\": \"OK\", \"card\": {\"pan\": \"<MASKED>\", \"exp\": <MASKED>, \"id\": \"c1\"},"
+                + " \"flags\": [<MASKED>, <MASKED>], \"tags\": [\"a\", \"b\"], \"empty\": {}, \"note\": \"\"}";
+
+        assertEquals(expected, masking.mask(input));
+    }
+
+    @Test
+    public void testNestedArraysInheritKeyAndTopLevelValuesAreMasked() {
+        String input = "Response: [{\"tags\": [[\"x\"], {\"k\": \"v\"}]}, \"top\", -1.5e3] [main]";
+        String expected = "Response: [{\"tags\": [[\"x\"], {\"k\": \"<MASKED>\"}]}, \"<MASKED>\", <MASKED>] [main]";
+
+        assertEquals(expected, masking.mask(input));
+    }
+
+    @Test
+    public void testEscapedQuotesAndPlainText() {
+        String input = "{\"status\": \"say \\\"hi\\\"\", \"msg\": \"a \\\" b\"}";
+        String expected = "{\"status\": \"say \\\"hi\\\"\", \"msg\": \"<MASKED>\"}";
+
+        assertEquals(expected, masking.mask(input));
+
+        String plain = "no json here";
+        assertSame(plain, masking.mask(plain));
+        assertEquals("", masking.mask(null));
+    }
+
+    @Test
+    public void testRestOfContainerIsMaskedWhenNotStrictJson() {
+        assertEquals("{\"id\":1,\"ratio\":<MASKED>} tail",
+                masking.mask("{\"id\":1,\"ratio\":NaN,\"card\":\"4111111111111111\"} tail"));
+        assertEquals("{\"id\":1,\"card\":<MASKED>} {\"id\":2}",
+                masking.mask("{\"id\":1,\"card\":'4111 ]}',\"x\":undefined} {\"id\":2}"));
+        assertEquals("[{\"id\":<MASKED>",
+                masking.mask("[{\"id\":undefined, \"pan\": \"4111\""));
+        assertEquals("{\"status\": \"OK\", <MASKED>} it's fine",
+                masking.mask("{\"status\": \"OK\", user's: 1} it's fine"));
+    }
+
+    @Test
+    public void testBracketedFreeTextIsNotJson() {
+        String input = "[main] INFO {user} done [ ] {} [OK]";
+        assertSame(input, masking.mask(input));
+        assertEquals("[http-nio-8080-exec-1] sent {\"id\": 7, \"pan\": \"<MASKED>\"}",
+                masking.mask("[http-nio-8080-exec-1] sent {\"id\": 7, \"pan\": \"4111\"}"));
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 BreninSul
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package files.logging;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class HttpJsonPathBodyMaskingTest {
+
+    @Test
+    public void testMaskByPathOnly() {
+        HttpJsonPathBodyMasking masking = new HttpJsonPathBodyMasking(Collections.singleton("$.auth.token"));
+        String input = "{\"pagination\": {\"token\": \"next\"}, \"auth\": {\"user\": \"bren\", \"token\": \"secret\"}}";
+        String expected = "{\"pagination\": {\"token\": \"next\"}, \"auth\": {\"user\": \"bren\", \"token\": \"<MASKED>\"}}";
+
+        assertEquals(expected, masking.mask(input));
+    }
+
+    @Test
+    public void testMaskWildcardsIndicesAndContainers() {
+        HttpJsonPathBodyMasking masking = new HttpJsonPathBodyMasking(
+                Arrays.asList("$.items[*].card.number", "$.items[0].cvv", "$.meta", "$..pin"));
+        String input = "Request body: {\"items\":[{\"card\":{\"number\":4111,\"cvv\":1},\"cvv\":123},"
+                + "{\"card\":{\"number\":\"5500\"},\"cvv\":456,\"pin\":[1,2]}],\"meta\":{\"a\":{}},\"n\":null}";
+        String expected = "Request body: {\"items\":[{\"card\":{\"number\":<MASKED>,\"cvv\":1},\"cvv\":<MASKED>},"
+                + "{\"card\":{\"number\":\"<MASKED>\"},\"cvv\":456,\"pin\":[<MASKED>]}],\"meta\":{<MASKED>},\"n\":null}";
+
+        assertEquals(expected, masking.mask(input));
+    }
+
+    @Test
+    public void testSeveralDocumentsAndNonJsonText() {
+        HttpJsonPathBodyMasking masking = new HttpJsonPathBodyMasking(Collections.singleton("$[1]"));
+        String input = "[main] got [\"a\", \"b\\\"]\", \"c\"] and [1, true] {broken [2, 3";
+        String expected = "[main] got [\"a\", \"<MASKED>\", \"c\"] and [1, <MASKED>] {broken [2, <MASKED>";
+
+        assertEquals(expected, masking.mask(input));
+    }
+
+    @Test
+    public void testContainersInsideBrokenDocumentAreNotRoots() {
+        HttpJsonPathBodyMasking masking = new HttpJsonPathBodyMasking(Collections.singleton("$.x"));
+        String input = "{\"a\": NaN, \"b\": {\"x\": \"inner\"}} {\"x\": \"top\"} {\"a\": {\"x\": 1}";
+        String expected = "{\"a\": NaN, \"b\": {\"x\": \"inner\"}} {\"x\": \"<MASKED>\"} {\"a\": {\"x\": 1}";
+
+        assertEquals(expected, masking.mask(input));
+    }
+
+    @Test
+    public void testDocumentsAfterUnclosedBracketAreMasked() {
+        HttpJsonPathBodyMasking masking = new HttpJsonPathBodyMasking(Collections.singleton("$.auth.token"));
+
+        assertEquals("got { from peer, body={\"auth\":{\"token\":\"<MASKED>\"}}",
+                masking.mask("got { from peer, body={\"auth\":{\"token\":\"x\"}}"));
+        assertEquals("{b} c { d {\"auth\":{\"token\":<MASKED>}} { e",
+                masking.mask("{b} c { d {\"auth\":{\"token\":1}} { e"));
+    }
+
+    @Test
+    public void testUnterminatedMatchedValueIsMaskedToTheEnd() {
+        HttpJsonPathBodyMasking masking = new HttpJsonPathBodyMasking(Collections.singleton("$.auth.token"));
+
+        assertEquals("{\"auth\":{\"token\":\"<MASKED>", masking.mask("{\"auth\":{\"token\":\"abcdefg"));
+        assertEquals("{\"auth\":{\"token\":{<MASKED>", masking.mask("{\"auth\":{\"token\":{\"a\": [1, \"b"));
+    }
+
+    @Test
+    public void testNoPathsReturnsInput() {
+        HttpJsonPathBodyMasking masking = new HttpJsonPathBodyMasking(Collections.emptySet());
+        String input = "{\"token\": \"x\"}";
+
+        assertSame(input, masking.mask(input));
+        assertEquals("", masking.mask(null));
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 BreninSul
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package files.logging;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class HttpMultipartBodyMaskingTest {
+
+    private final HttpMultipartBodyMasking masking = new HttpMultipartBodyMasking(Arrays.asList("password", "token"));
+
+    @Test
+    public void testMaskFieldsAndFilePartsWithCrLf() {
+        String input = "POST /upload Content-Type: multipart/form-data; boundary=XyZ\r\n\r\n"
+                + "--XyZ\r\nContent-Disposition: form-data; name=\"user\"\r\n\r\nbren\r\n"
+                + "--XyZ\r\nContent-Disposition: form-data; name=\"Password\"\r\n\r\nsecret\r\n"
+                + "--XyZ\r\nContent-Disposition: form-data; name=\"avatar\"; filename=\"a.png\"\r\n"
+                + "Content-Type: image/png\r\n\r\n\u0089PNG--binary--\r\n"
+                + "--XyZ--\r\n";
+        String expected = "POST /upload Content-Type: multipart/form-data; boundary=XyZ\r\n\r\n"
+                + "--XyZ\r\nContent-Disposition: form-data; name=\"user\"\r\n\r\nbren\r\n"
+                + "--XyZ\r\nContent-Disposition: form-data; name=\"Password\"\r\n\r\n<MASKED>\r\n"
+                + "--XyZ\r\nContent-Disposition: form-data; name=\"avatar\"; filename=\"a.png\"\r\n"
+                + "Content-Type: image/png\r\n\r\n<PART:avatar,14>\r\n"
+                + "--XyZ--\r\n";
+
+        assertEquals(expected, masking.mask(input));
+    }
+
+    @Test
+    public void testDetectBoundaryFromFirstDelimiterLine() {
+        String input = "body:\n--b1\nContent-Disposition: form-data; name=access_token\n\nabc\n"
+                + "--b1\nContent-Disposition: form-data; name=\"note\"\n\nhi\n--b1--";
+        String expected = "body:\n--b1\nContent-Disposition: form-data; name=access_token\n\n<MASKED>\n"
+                + "--b1\nContent-Disposition: form-data; name=\"note\"\n\nhi\n--b1--";
+
+        assertEquals(expected, masking.mask(input));
+    }
+
+    @Test
+    public void testTruncatedBodyIsMaskedToTheEnd() {
+        String input = "--q\r\nContent-Disposition: form-data; name=\"token\"\r\n\r\nabcdef";
+
+        assertEquals("--q\r\nContent-Disposition: form-data; name=\"token\"\r\n\r\n<MASKED>", masking.mask(input));
+    }
+
+    @Test
+    public void testNonMultipartIsReturnedAsIs() {
+        String input = "password=secret&token=abc";
+
+        assertSame(input, masking.mask(input));
+        assertEquals("", masking.mask(null));
+    }
+}
@@ -138,4 +138,44 @@ public class HttpRegexJsonBodyMaskingTest {
         String masked = masking.mask(input);
         assertEquals(expected, masked);
     }
+
+    @Test
+    public void testMaskJsonCaseInsensitiveAndNested() {
+        HttpRegexJsonBodyMasking masking = new HttpRegexJsonBodyMasking(Arrays.asList("password", "api_key"));
+        String input = "{\"user\": {\"Password\": \"p\", \"profile\": {\"apiKey\": 42}}, \"API-KEY\": [\"a\"]}";
+        String expected = "{\"user\": {\"Password\": \"<MASKED>\", \"profile\": {\"apiKey\": <MASKED>}}, \"API-KEY\": [<MASKED>]}";
+        assertEquals(expected, masking.mask(input));
+    }
+
+    @Test
+    public void testMaskEscapedJson() {
+        HttpRegexJsonBodyMasking masking = new HttpRegexJsonBodyMasking(Arrays.asList("password", "token"));
+
+        // {"payload":"{\"password\":\"x\",\"n\":1}","user":"u"}
+        String input = "{\"payload\":\"{\\\"password\\\":\\\"x\\\",\\\"n\\\":1}\",\"user\":\"u\"}";
+        String expected = "{\"payload\":\"{\\\"password\\\":\\\"<MASKED>\\\",\\\"n\\\":1}\",\"user\":\"u\"}";
+        assertEquals(expected, masking.mask(input));
+
+        // escaped JSON logged outside of any string
+        assertEquals("payload={\\\"token\\\": \\\"<MASKED>\\\"}", masking.mask("payload={\\\"token\\\": \\\"t\\\"}"));
+    }
+
+    @Test
+    public void testMaskDoubleEscapedJson() {
+        HttpRegexJsonBodyMasking masking = new HttpRegexJsonBodyMasking(Arrays.asList("token"));
+
+        // {"wrap":"{\"payload\":\"{\\\"token\\\":\\\"t\\\",\\\"keep\\\":\\\"k\\\"}\"}"}
+        String input = "{\"wrap\":\"{\\\"payload\\\":\\\"{\\\\\\\"token\\\\\\\":\\\\\\\"t\\\\\\\",\\\\\\\"keep\\\\\\\":\\\\\\\"k\\\\\\\"}\\\"}\"}";
+        String expected = "{\"wrap\":\"{\\\"payload\\\":\\\"{\\\\\\\"token\\\\\\\":\\\\\\\"<MASKED>\\\\\\\",\\\\\\\"keep\\\\\\\":\\\\\\\"k\\\\\\\"}\\\"}\"}";
+        assertEquals(expected, masking.mask(input));
+    }
+
+    @Test
+    public void testMaskEmptyValues() {
+        HttpRegexJsonBodyMasking masking = new HttpRegexJsonBodyMasking(Arrays.asList("password", "roles", "details"));
+
+        String input = "{\"password\":\"\", \"roles\": [], \"details\": {}}";
+        String expected = "{\"password\":\"<MASKED>\", \"roles\": [<MASKED>], \"details\": {<MASKED>}}";
+        assertEquals(expected, masking.mask(input));
+    }
 }
@@ -66,4 +66,12 @@ public class HttpRegexUriMaskingTest {
         String expected = "url?p1=<MASKED>&p2=<MASKED>&p3=v3";
         assertEquals(expected, masking.mask(input));
     }
+
+    @Test
+    public void testMaskOverlappingAndNormalisedKeys() {
+        HttpRegexUriMasking masking = new HttpRegexUriMasking(Arrays.asList("token", "access_token", "api_key"));
+        String input = "url?access_token=v1&API-KEY=v2&apiKey=v3&Token=v4&tokens=v5";
+        String expected = "url?access_token=<MASKED>&API-KEY=<MASKED>&apiKey=<MASKED>&Token=<MASKED>&tokens=v5";
+        assertEquals(expected, masking.mask(input));
+    }
 }
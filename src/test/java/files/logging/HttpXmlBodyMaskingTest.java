@@ -0,0 +1,85 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 BreninSul
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package files.logging;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class HttpXmlBodyMaskingTest {
+
+    private final HttpXmlBodyMasking masking = new HttpXmlBodyMasking(Arrays.asList("password", "token"));
+
+    @Test
+    public void testMaskSoapEnvelope() {
+        String input = "<soap:Envelope xmlns:soap=\"http://schemas.xmlsoap.org/soap/envelope/\"><soap:Header>"
+                + "<wsse:UsernameToken><wsse:Username>bren</wsse:Username>"
+                + "<wsse:Password Type=\"PasswordText\">secret</wsse:Password></wsse:UsernameToken>"
+                + "</soap:Header><soap:Body><password>p2</password></soap:Body></soap:Envelope>";
+        String expected = "<soap:Envelope xmlns:soap=\"http://schemas.xmlsoap.org/soap/envelope/\"><soap:Header>"
+                + "<wsse:UsernameToken><wsse:Username>bren</wsse:Username>"
+                + "<wsse:Password Type=\"PasswordText\"><MASKED></wsse:Password></wsse:UsernameToken>"
+                + "</soap:Header><soap:Body><password><MASKED></password></soap:Body></soap:Envelope>";
+
+        assertEquals(expected, masking.mask(input));
+    }
+
+    @Test
+    public void testMaskAttributesAndNestedContent() {
+        String input = "<auth user='bren' Password='p' token=\"t\"/><Password><v>1</v><v/></Password><x>ok</x>";
+        String expected = "<auth user='bren' Password='<MASKED>' token=\"<MASKED>\"/><Password><MASKED></Password><x>ok</x>";
+
+        assertEquals(expected, masking.mask(input));
+    }
+
+    @Test
+    public void testSkipsCommentsAndFreeText() {
+        String input = "a < b and <!-- <password>c</password> --> <![CDATA[<token>]]> <password/> <empty></empty>";
+
+        assertEquals(input, masking.mask(input));
+        assertEquals("<password>never closed", masking.mask("<password>never closed"));
+    }
+
+    @Test
+    public void testSensitiveNameWithoutEndTagIsNotAnElement() {
+        String input = "Optional<Token> load(Map<String, Token> cache) <token>t</token> Optional<Token> done";
+        String expected = "Optional<Token> load(Map<String, Token> cache) <token><MASKED></token> Optional<Token> done";
+
+        assertEquals(expected, masking.mask(input));
+        assertEquals("<password><MASKED></password> ok", masking.mask("<password><password>a</password>b</password> ok"));
+        assertEquals("<password><MASKED></password>b", masking.mask("<password><password>a</password>b"));
+    }
+
+    @Test
+    public void testStrayLessThanBeforeElement() {
+        assertEquals("if count<limit then send <password><MASKED></password>",
+                masking.mask("if count<limit then send <password>secret</password>"));
+        assertEquals("a<b, \"c\" <token><MASKED></token>", masking.mask("a<b, \"c\" <token>t</token>"));
+        assertEquals("if count<limit then send <password><MASKED></password>",
+                MaskLogEventFactory.maskText("if count<limit then send <password>secret</password>"));
+    }
+}
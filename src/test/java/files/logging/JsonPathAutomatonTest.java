@@ -0,0 +1,78 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 BreninSul
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package files.logging;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class JsonPathAutomatonTest {
+
+    private static int name(JsonPathAutomaton automaton, int state, String name) {
+        return automaton.name(state, name, 0, name.length());
+    }
+
+    @Test
+    public void testExactAndWildcardSteps() {
+        JsonPathAutomaton automaton = new JsonPathAutomaton(Arrays.asList("$.auth.token", "$.items[*].card['number']"));
+        int root = automaton.initial();
+
+        assertTrue(automaton.accepts(name(automaton, name(automaton, root, "auth"), "token")));
+        assertEquals(JsonPathAutomaton.DEAD, name(automaton, name(automaton, root, "pagination"), "token"));
+
+        int item = automaton.index(name(automaton, root, "items"), 7);
+        assertTrue(automaton.accepts(name(automaton, name(automaton, item, "card"), "number")));
+        assertFalse(automaton.accepts(name(automaton, item, "card")));
+    }
+
+    @Test
+    public void testIndexAndRecursiveDescent() {
+        JsonPathAutomaton automaton = new JsonPathAutomaton(Arrays.asList("$.users[0].ssn", "$..password"));
+        int root = automaton.initial();
+        int users = name(automaton, root, "users");
+
+        assertTrue(automaton.accepts(name(automaton, automaton.index(users, 0), "ssn")));
+        assertFalse(automaton.accepts(name(automaton, automaton.index(users, 1), "ssn")));
+        assertTrue(automaton.accepts(name(automaton, automaton.index(users, 1), "password")));
+        assertTrue(automaton.accepts(name(automaton, root, "password")));
+    }
+
+    @Test
+    public void testEmptyAndInvalidPaths() {
+        JsonPathAutomaton empty = new JsonPathAutomaton(Collections.emptyList());
+
+        assertTrue(empty.isEmpty());
+        assertEquals(JsonPathAutomaton.DEAD, empty.initial());
+        assertThrows(IllegalArgumentException.class, () -> new JsonPathAutomaton(Collections.singleton("auth.token")));
+        assertThrows(IllegalArgumentException.class, () -> new JsonPathAutomaton(Collections.singleton("$.a[x]")));
+        assertThrows(IllegalArgumentException.class, () -> new JsonPathAutomaton(Collections.singleton("$.a[0")));
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 BreninSul
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package files.logging;
+
+import com.google.re2j.Pattern;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LazyPatternSetTest {
+
+    @Test
+    public void testCompiledInOrderOnFirstAccess() {
+        LazyPatternSet set = new LazyPatternSet("a+", "b+");
+
+        List<String> regexes = set.stream().map(Pattern::pattern).collect(Collectors.toList());
+
+        assertEquals(Arrays.asList("a+", "b+"), regexes);
+        assertTrue(set.contains(Pattern.compile("b+")));
+        assertEquals(new HashSet<>(Arrays.asList(Pattern.compile("b+"), Pattern.compile("a+"))), set);
+        assertTrue(set.isPristine());
+    }
+
+    @Test
+    public void testChangesAreTracked() {
+        LazyPatternSet added = new LazyPatternSet("a+");
+        assertFalse(added.add(Pattern.compile("a+")));
+        assertTrue(added.isPristine());
+        assertTrue(added.add(Pattern.compile("c+")));
+        assertFalse(added.isPristine());
+
+        LazyPatternSet removed = new LazyPatternSet("a+", "b+");
+        Iterator<Pattern> iterator = removed.iterator();
+        iterator.next();
+        iterator.remove();
+        assertFalse(removed.isPristine());
+        assertEquals(1, removed.size());
+
+        LazyPatternSet cleared = new LazyPatternSet("a+");
+        cleared.clear();
+        assertFalse(cleared.isPristine());
+    }
+
+    @Test
+    public void testChangedDefaultsAreNotGated() {
+        java.util.Set<Pattern> previous = MaskLogEventFactory.SENSITIVE_PATTERNS;
+        MaskLogEventFactory.SENSITIVE_PATTERNS = new HashSet<>(previous);
+        // no '<' and no long run, so only a set that is no longer the default gets this masked
+        MaskLogEventFactory.SENSITIVE_PATTERNS.add(Pattern.compile("(pin:)(\\d+)()"));
+        try {
+            assertEquals("pin:LENGTH:4 ok", MaskLogEventFactory.maskText("pin:1234 ok"));
+        } finally {
+            MaskLogEventFactory.SENSITIVE_PATTERNS = previous;
+        }
+    }
+}
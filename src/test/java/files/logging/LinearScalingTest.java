@@ -0,0 +1,161 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 BreninSul
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package files.logging;
+
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.IntFunction;
+import java.util.function.UnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Guards the linear-time promise: every masker is run on adversarial inputs of size
+ * {@code n} and {@code 4n}, and the larger input may take at most {@link #MAX_RATIO}
+ * times as long. Times are the CPU time of the masking thread, the best of several interleaved runs
+ * after a timed warm-up on both sizes; a
+ * ratio over the bound is measured again a few times before failing, since a late JIT compilation
+ * or collection can land in either size, and runs that are too short to measure are not judged.
+ */
+public class LinearScalingTest {
+    private static final int SMALL = 16 << 10;
+    private static final double MAX_RATIO = 5.0;
+    private static final int RUNS = 7;
+    private static final int ATTEMPTS = 5;
+    private static final long MIN_MEASURABLE_NANOS = 2_000_000;
+    private static final long WARM_UP_NANOS = 200_000_000;
+
+    private static final List<String> FIELDS = Arrays.asList("password", "token", "access_token", "secret");
+
+    private static Map<String, UnaryOperator<String>> maskers() {
+        Map<String, UnaryOperator<String>> maskers = new LinkedHashMap<>();
+        maskers.put("uri", new HttpRegexUriMasking(FIELDS)::mask);
+        maskers.put("json", new HttpRegexJsonBodyMasking(FIELDS)::mask);
+        maskers.put("form", new HttpRegexFormBodyMasking(FIELDS)::mask);
+        maskers.put("multipart", new HttpMultipartBodyMasking(FIELDS)::mask);
+        maskers.put("xml", new HttpXmlBodyMasking(FIELDS)::mask);
+        maskers.put("jsonPath", new HttpJsonPathBodyMasking(Arrays.asList("$..password", "$.a[*].token"))::mask);
+        maskers.put("allowList", new HttpAllowListJsonBodyMasking(Collections.singleton("id"))::mask);
+        maskers.put("rules", new MaskingRules(Arrays.asList(
+                MaskingRule.of("ssn", "\\b\\d{3}-\\d{2}-\\d{4}\\b"),
+                new MaskingRule("pin", "(?i)pin[:=](\\d{4,6})", 1, "<MASKED>")))::mask);
+        maskers.put("entropy", new EntropyMasking()::mask);
+        maskers.put("sql", new SqlLiteralMasking(FIELDS)::mask);
+        maskers.put("maskText", MaskLogEventFactory::maskText);
+        return maskers;
+    }
+
+    private static String repeat(String unit, int size) {
+        return unit.repeat(Math.max(1, size / unit.length()));
+    }
+
+    private static Map<String, IntFunction<String>> inputs() {
+        Map<String, IntFunction<String>> inputs = new LinkedHashMap<>();
+        inputs.put("matching keys", size -> repeat(
+                "\"password\": \"x\", password=y&token=z <token>t</token> {\"token\": 1} ", size));
+        inputs.put("nested json", size -> {
+            int depth = size / 12;
+            return "{\"a\":".repeat(depth) + "{\"password\":\"p\"}" + "}".repeat(depth)
+                    + "[".repeat(depth) + "1" + "]".repeat(depth);
+        });
+        inputs.put("unterminated nested json", size -> "{\"a\":".repeat(size / 5));
+        inputs.put("unclosed brackets", size -> repeat("{ x {\"", size));
+        inputs.put("unterminated string", size -> "{\"password\": \"" + repeat("x\\\"", size));
+        inputs.put("unterminated tags", size -> repeat("<password>v<token a='", size));
+        inputs.put("near-miss hex", size -> repeat("0123456789abcdef".repeat(62) + "0123456 ", size));
+        inputs.put("sensitive tags", size -> repeat("<SensitiveData>0a0b0c</SensitiveData> ", size / 2)
+                + repeat("3c53656e736974697665446174613e0a0b ", size / 2));
+        inputs.put("multipart parts", size -> "--b\n" + repeat(
+                "Content-Disposition: form-data; name=\"password\"\n\nsecret\n--b\n", size));
+        inputs.put("sql statements", size -> repeat(
+                "UPDATE t SET password='a''b', x = lower('c') WHERE token IN (1, 'd') AND id = 2; ", size));
+        inputs.put("unterminated sql", size -> "SELECT 1 WHERE password = '" + repeat("x''", size));
+        inputs.put("token run", size -> {
+            Random random = new Random(42);
+            char[] run = new char[size];
+            for (int i = 0; i < size; i++) {
+                run[i] = "0123456789abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ-_".charAt(random.nextInt(64));
+            }
+            return new String(run);
+        });
+        inputs.put("near-miss keys", size -> repeat("passwor=1&toke=2&\"secre\":\"3\",pin:12 ", size));
+        return inputs;
+    }
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    /** CPU time of the masking thread, so time spent descheduled, compiling or collecting is not counted. */
+    private static long time(UnaryOperator<String> masker, String input) {
+        boolean cpu = THREADS.isCurrentThreadCpuTimeSupported();
+        long start = cpu ? THREADS.getCurrentThreadCpuTime() : System.nanoTime();
+        masker.apply(input);
+        return (cpu ? THREADS.getCurrentThreadCpuTime() : System.nanoTime()) - start;
+    }
+
+    @TestFactory
+    public List<DynamicTest> testMaskingScalesLinearly() {
+        List<DynamicTest> tests = new ArrayList<>();
+        for (Map.Entry<String, UnaryOperator<String>> masker : maskers().entrySet()) {
+            for (Map.Entry<String, IntFunction<String>> input : inputs().entrySet()) {
+                tests.add(DynamicTest.dynamicTest(masker.getKey() + " / " + input.getKey(), () -> {
+                    String small = input.getValue().apply(SMALL);
+                    String large = input.getValue().apply(SMALL * 4);
+                    // the vector trigger scanner is only fast once C2 has compiled it, so warm up by time
+                    long warmUpEnd = System.nanoTime() + WARM_UP_NANOS;
+                    for (int i = 0; i < 5 || System.nanoTime() < warmUpEnd; i++) {
+                        masker.getValue().apply(small);
+                        masker.getValue().apply(large);
+                    }
+                    long smallTime = Long.MAX_VALUE;
+                    long largeTime = Long.MAX_VALUE;
+                    double ratio = Double.MAX_VALUE;
+                    for (int attempt = 0; attempt < ATTEMPTS && ratio > MAX_RATIO; attempt++) {
+                        for (int run = 0; run < RUNS; run++) {
+                            smallTime = Math.min(smallTime, time(masker.getValue(), small));
+                            largeTime = Math.min(largeTime, time(masker.getValue(), large));
+                        }
+                        ratio = largeTime < MIN_MEASURABLE_NANOS ? 0
+                                : (double) largeTime / Math.max(smallTime, MIN_MEASURABLE_NANOS / 4);
+                    }
+                    assertTrue(ratio <= MAX_RATIO,
+                            String.format("%s on %s: %d -> %d chars took %.2f ms -> %.2f ms (x%.1f)",
+                                    masker.getKey(), input.getKey(), small.length(), large.length(),
+                                    smallTime / 1e6, largeTime / 1e6, ratio));
+                }));
+            }
+        }
+        return tests;
+    }
+}
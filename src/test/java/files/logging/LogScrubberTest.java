@@ -0,0 +1,167 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 BreninSul
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package files.logging;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class LogScrubberTest {
+
+    @TempDir
+    Path dir;
+
+    private ForkJoinPool pool;
+
+    @BeforeEach
+    public void setUp() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    private static String log(int lines, boolean masked) {
+        StringBuilder log = new StringBuilder();
+        for (int i = 0; i < lines; i++) {
+            log.append("2026-10-19 INFO [worker-").append(i % 7).append("] GET /login?user=u").append(i)
+                    .append("&password=").append(masked ? "<MASKED>" : "secret" + i)
+                    .append(i % 3 == 0 ? "\r\n" : "\n");
+        }
+        return log.toString();
+    }
+
+    @Test
+    public void testScrubPlainFileInOrder() throws IOException {
+        Path input = dir.resolve("app.log");
+        Path output = dir.resolve("app.scrubbed.log");
+        Files.write(input, (log(2000, false) + "last line without newline token=abc").getBytes(StandardCharsets.UTF_8));
+
+        LogScrubber.Stats stats = new LogScrubber(pool, MaskLogEventFactory::maskText, 512).scrub(input, output);
+
+        String expected = log(2000, true) + "last line without newline token=<MASKED>";
+        assertEquals(expected, new String(Files.readAllBytes(output), StandardCharsets.UTF_8));
+        assertEquals(2001, stats.lines());
+        assertEquals(Files.size(input), stats.bytes());
+    }
+
+    @Test
+    public void testScrubGzipFileWithLinesLongerThanChunk() throws IOException {
+        Path input = dir.resolve("app.log.20261018-1.gz");
+        Path output = dir.resolve("out.log.gz");
+        String longLine = "POST body password=abc " + "lorem ipsum ".repeat(300) + "\n";
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(input))) {
+            out.write((log(500, false) + longLine + log(500, false)).getBytes(StandardCharsets.UTF_8));
+        }
+
+        LogScrubber.Stats stats = new LogScrubber(pool, MaskLogEventFactory::maskText, 1024).scrub(input, output);
+
+        String scrubbed;
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(output))) {
+            scrubbed = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        assertEquals(log(500, true) + "POST body password=<MASKED> " + "lorem ipsum ".repeat(300) + "\n" + log(500, true), scrubbed);
+        assertEquals(1001, stats.lines());
+    }
+
+    @Test
+    public void testScrubInPlace() throws IOException {
+        Path input = dir.resolve("app.log");
+        Files.write(input, log(2000, false).getBytes(StandardCharsets.UTF_8));
+
+        LogScrubber.Stats stats = new LogScrubber(pool, MaskLogEventFactory::maskText, 512).scrub(input, input);
+
+        assertEquals(log(2000, true), new String(Files.readAllBytes(input), StandardCharsets.UTF_8));
+        assertEquals(2000, stats.lines());
+        try (Stream<Path> files = Files.list(dir)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    public void testScrubInPlaceKeepsPermissions() throws IOException {
+        Path input = dir.resolve("app.log");
+        Files.write(input, log(10, false).getBytes(StandardCharsets.UTF_8));
+        Files.setPosixFilePermissions(input, PosixFilePermissions.fromString("rw-r-----"));
+
+        new LogScrubber(pool, MaskLogEventFactory::maskText, 512).scrub(input, input);
+
+        assertEquals("rw-r-----", PosixFilePermissions.toString(Files.getPosixFilePermissions(input)));
+    }
+
+    @Test
+    public void testOutputsKeepPathsBelowCommonDirectory() {
+        Path out = dir.resolve("out");
+        List<Path> inputs = Arrays.asList(dir.resolve("a/app.log"), dir.resolve("b/app.log"), dir.resolve("b/c/app.log.gz"));
+
+        assertEquals(Arrays.asList(out.resolve("a/app.log"), out.resolve("b/app.log"), out.resolve("b/c/app.log.gz")),
+                LogScrubber.outputs(inputs, out));
+        assertEquals(Arrays.asList(out.resolve("app.log")), LogScrubber.outputs(Arrays.asList(dir.resolve("a/app.log")), out));
+        assertThrows(IllegalArgumentException.class,
+                () -> LogScrubber.outputs(Arrays.asList(dir.resolve("a/app.log"), dir.resolve("a/../a/app.log")), out));
+    }
+
+    @Test
+    public void testScrubKeepsBytesOfLinesThatAreNotUtf8() throws IOException {
+        Path input = dir.resolve("app.log");
+        byte[] latin1 = "caf\u00e9 password=secret\n".getBytes(StandardCharsets.ISO_8859_1);
+        byte[] utf8 = "caf\u00e9 token=abc\n".getBytes(StandardCharsets.UTF_8);
+        Files.write(input, concat(latin1, utf8));
+
+        LogScrubber.Stats stats = new LogScrubber(pool, MaskLogEventFactory::maskText, 512).scrub(input, input);
+
+        assertArrayEquals(concat("caf\u00e9 password=<MASKED>\n".getBytes(StandardCharsets.ISO_8859_1),
+                "caf\u00e9 token=<MASKED>\n".getBytes(StandardCharsets.UTF_8)), Files.readAllBytes(input));
+        assertEquals(2, stats.lines());
+        assertEquals(1, stats.invalidLines());
+    }
+
+    private static byte[] concat(byte[] first, byte[] second) {
+        byte[] bytes = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, bytes, first.length, second.length);
+        return bytes;
+    }
+}
@@ -0,0 +1,273 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 BreninSul
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package files.logging;
+
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.async.AsyncLoggerContext;
+import org.apache.logging.log4j.core.jmx.RingBufferAdmin;
+
+import java.lang.management.ManagementFactory;
+import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * End-to-end load harness: boots an {@link AsyncLoggerContext} from {@code log4j2-load.xml}
+ * (a {@code RollingFile} appender with the masking {@code %m} converter), logs a fixed mix of
+ * plain, URI, JSON, form and blob messages from several threads, and reports events/s,
+ * caller latency percentiles and allocation with {@link MaskLogEventFactory#IS_ENABLED_MASKING}
+ * off and on.
+ * <pre>
+ * gradle loadTest --args="[--threads 1,4,32] [--events PER_THREAD] [--dir DIR]"
+ * </pre>
+ * Events/s counts until the ring buffer is drained, so it includes the masking done on the
+ * appender thread; caller latency only covers the enqueue. Allocation is summed over all threads
+ * and needs {@code com.sun.management.ThreadMXBean}, otherwise it is reported as -1.
+ */
+public class LoggingLoadHarness {
+    public static final String CONFIG = "log4j2-load.xml";
+    public static final String DIR_PROPERTY = "files.logging.load.dir";
+
+    private static final int VARIANTS = 64;
+    // out of 20: 10 plain, 3 URI, 3 JSON, 2 form, 2 blob
+    private static final int[] MIX = {0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 1, 1, 1, 2, 2, 2, 3, 3, 4, 4};
+
+    protected final String[][] messages;
+
+    public LoggingLoadHarness() {
+        Random random = new Random(42);
+        messages = new String[5][VARIANTS];
+        for (int i = 0; i < VARIANTS; i++) {
+            messages[0][i] = "Order " + (10000 + i) + " shipped to warehouse " + (i % 7) + " after "
+                    + random.nextInt(500) + " ms";
+            messages[1][i] = "GET https://api.example.com/v1/users/" + i + "?access_token=" + Long.toHexString(random.nextLong())
+                    + "&page=" + (i % 5) + " 200";
+            messages[2][i] = "Response {\"id\":" + i + ",\"user\":{\"name\":\"user" + i + "\",\"password\":\"pw"
+                    + random.nextInt() + "\"},\"token\":\"" + Long.toHexString(random.nextLong()) + "\",\"items\":[1,2,3]}";
+            messages[3][i] = "Form username=user" + i + "&password=pw" + random.nextInt() + "&remember=true";
+            byte[] blob = new byte[1536 + random.nextInt(1024)];
+            random.nextBytes(blob);
+            messages[4][i] = "Uploaded attachment " + i + ": " + Base64.getEncoder().encodeToString(blob);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int[] threads = {1, 4, 32};
+        int events = 20_000;
+        Path dir = Paths.get("build", "load");
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--threads":
+                        threads = Arrays.stream(args[++i].split(",")).mapToInt(Integer::parseInt).toArray();
+                        break;
+                    case "--events":
+                        events = Integer.parseInt(args[++i]);
+                        break;
+                    case "--dir":
+                        dir = Paths.get(args[++i]);
+                        break;
+                    default:
+                        throw new IllegalArgumentException(args[i]);
+                }
+            }
+        } catch (ArrayIndexOutOfBoundsException | IllegalArgumentException e) {
+            System.err.println("Usage: LoggingLoadHarness [--threads N,N...] [--events PER_THREAD] [--dir DIR]");
+            System.exit(2);
+        }
+        LoggingLoadHarness harness = new LoggingLoadHarness();
+        harness.run(threads[threads.length - 1], Math.max(1, events / 4), true, dir);
+        for (int count : threads) {
+            Result off = harness.run(count, events, false, dir);
+            System.out.println(off);
+            Result on = harness.run(count, events, true, dir);
+            System.out.println(on);
+            System.out.printf(Locale.ROOT, "masking overhead at %d threads: %.1f%% events/s, %+.0f B/event%n",
+                    count, 100.0 * (1 - on.eventsPerSecond() / off.eventsPerSecond()),
+                    on.bytesPerEvent() - off.bytesPerEvent());
+        }
+    }
+
+    /**
+     * Logs {@code events} messages from each of {@code threads} threads into a fresh context
+     * writing to {@code dir}, with masking switched as given and restored afterwards.
+     */
+    public Result run(int threads, int events, boolean masking, Path dir) throws InterruptedException {
+        boolean previous = MaskLogEventFactory.IS_ENABLED_MASKING;
+        System.setProperty(DIR_PROPERTY, dir.toString());
+        AsyncLoggerContext context;
+        try {
+            context = new AsyncLoggerContext("load", null,
+                    LoggingLoadHarness.class.getClassLoader().getResource(CONFIG).toURI());
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException(e);
+        }
+        context.start();
+        MaskLogEventFactory.IS_ENABLED_MASKING = masking;
+        try {
+            Logger logger = context.getLogger("files.logging.load");
+            RingBufferAdmin ringBuffer = context.createRingBufferAdmin();
+            long[][] latencies = new long[threads][];
+            AtomicLong callerAllocation = new AtomicLong();
+            CountDownLatch start = new CountDownLatch(1);
+            List<Thread> workers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int index = t;
+                Thread worker = new Thread(() -> {
+                    long[] own = new long[events];
+                    long allocated = allocatedBytes(Thread.currentThread());
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    for (int i = 0; i < events; i++) {
+                        String message = messages[MIX[(i + index) % MIX.length]][(i * 31 + index) % VARIANTS];
+                        long begin = System.nanoTime();
+                        logger.info(message);
+                        own[i] = System.nanoTime() - begin;
+                    }
+                    latencies[index] = own;
+                    callerAllocation.addAndGet(allocatedBytes(Thread.currentThread()) - allocated);
+                }, "load-" + t);
+                workers.add(worker);
+                worker.start();
+            }
+            Map<Long, Long> before = allocatedByThread();
+            long begin = System.nanoTime();
+            start.countDown();
+            for (Thread worker : workers) {
+                worker.join();
+            }
+            while (ringBuffer.getRemainingCapacity() < ringBuffer.getBufferSize()) {
+                Thread.sleep(1);
+            }
+            long nanos = System.nanoTime() - begin;
+            long allocated = callerAllocation.get();
+            for (Map.Entry<Long, Long> entry : allocatedByThread().entrySet()) {
+                allocated += entry.getValue() - before.getOrDefault(entry.getKey(), 0L);
+            }
+            long[] all = Arrays.stream(latencies).flatMapToLong(Arrays::stream).sorted().toArray();
+            return new Result(threads, masking, all, nanos, allocated < 0 || !allocationSupported() ? -1 : allocated);
+        } finally {
+            context.stop(30, TimeUnit.SECONDS);
+            MaskLogEventFactory.IS_ENABLED_MASKING = previous;
+        }
+    }
+
+    static boolean allocationSupported() {
+        return ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean
+                && ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).isThreadAllocatedMemoryEnabled();
+    }
+
+    private static long allocatedBytes(Thread thread) {
+        return allocationSupported()
+                ? ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getThreadAllocatedBytes(thread.getId())
+                : 0;
+    }
+
+    static Map<Long, Long> allocatedByThread() {
+        Map<Long, Long> allocated = new HashMap<>();
+        if (allocationSupported()) {
+            com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+            long[] ids = bean.getAllThreadIds();
+            long[] bytes = bean.getThreadAllocatedBytes(ids);
+            for (int i = 0; i < ids.length; i++) {
+                if (bytes[i] >= 0) {
+                    allocated.put(ids[i], bytes[i]);
+                }
+            }
+        }
+        return allocated;
+    }
+
+    /**
+     * Outcome of one run: events logged, time until drained, sorted caller latencies and bytes allocated.
+     */
+    public static final class Result {
+        private final int threads;
+        private final boolean masking;
+        private final long[] latencies;
+        private final long nanos;
+        private final long allocatedBytes;
+
+        Result(int threads, boolean masking, long[] latencies, long nanos, long allocatedBytes) {
+            this.threads = threads;
+            this.masking = masking;
+            this.latencies = latencies;
+            this.nanos = nanos;
+            this.allocatedBytes = allocatedBytes;
+        }
+
+        public long events() {
+            return latencies.length;
+        }
+
+        public double seconds() {
+            return nanos / 1e9;
+        }
+
+        public double eventsPerSecond() {
+            return nanos == 0 ? 0 : events() / seconds();
+        }
+
+        /** Caller latency in nanoseconds at {@code fraction}, e.g. 0.999 for p999. */
+        public long latency(double fraction) {
+            return latencies.length == 0 ? 0
+                    : latencies[Math.min(latencies.length - 1, (int) Math.ceil(fraction * latencies.length) - 1)];
+        }
+
+        /** Bytes allocated by all threads, or -1 if not measurable. */
+        public long allocatedBytes() {
+            return allocatedBytes;
+        }
+
+        public double bytesPerEvent() {
+            return allocatedBytes < 0 || events() == 0 ? 0 : (double) allocatedBytes / events();
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT,
+                    "masking %-3s %2d threads: %d events in %.2f s (%.0f events/s), caller p50 %.1f us, p99 %.1f us,"
+                            + " p999 %.1f us, allocated %.1f MB/s (%.0f B/event)",
+                    masking ? "on" : "off", threads, events(), seconds(), eventsPerSecond(), latency(0.5) / 1e3,
+                    latency(0.99) / 1e3, latency(0.999) / 1e3,
+                    allocatedBytes < 0 ? -1 : allocatedBytes / (1024.0 * 1024.0) / seconds(), bytesPerEvent());
+        }
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 BreninSul
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package files.logging;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LoggingLoadHarnessTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void testMaskedRunWritesEveryEventMasked() throws Exception {
+        LoggingLoadHarness.Result result = new LoggingLoadHarness().run(2, 500, true, dir);
+
+        assertEquals(1000, result.events());
+        assertTrue(result.eventsPerSecond() > 0);
+        assertTrue(result.latency(0.5) <= result.latency(0.99));
+        assertTrue(result.latency(0.99) <= result.latency(0.999));
+        String log = new String(Files.readAllBytes(dir.resolve("load.log")), StandardCharsets.UTF_8);
+        assertEquals(1000, log.split("\n").length);
+        assertTrue(log.contains("\"password\":\"<MASKED>\""));
+        assertFalse(log.contains("\"password\":\"pw"));
+        assertTrue(MaskLogEventFactory.IS_ENABLED_MASKING);
+    }
+
+    @Test
+    public void testUnmaskedRunRestoresMasking() throws Exception {
+        LoggingLoadHarness.Result result = new LoggingLoadHarness().run(1, 200, false, dir);
+
+        assertEquals(200, result.events());
+        String log = new String(Files.readAllBytes(dir.resolve("load.log")), StandardCharsets.UTF_8);
+        assertTrue(log.contains("\"password\":\"pw"));
+        assertTrue(MaskLogEventFactory.IS_ENABLED_MASKING);
+    }
+}
@@ -24,8 +24,13 @@
 
 package files.logging;
 
+import org.apache.logging.log4j.core.LogEvent;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
+import java.util.LinkedHashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.BiConsumer;
 import java.util.regex.Pattern; // Checking that we don't accidentally use this
 import com.google.re2j.Matcher; // Checking that we use this
 
@@ -82,12 +87,16 @@ public class MaskLogEventFactoryTest {
         // Let's rely on the fact that our custom formatter won't even check the event
         // if we don't want it to.
 
+        BiConsumer<LogEvent, StringBuilder> previous = MaskLogEventFactory.FORMATTER;
         MaskLogEventFactory.FORMATTER = (event, sb) -> sb.append("Custom Formatter Output");
-
-        StringBuilder sb = new StringBuilder();
-        factory.format(null, sb); // Event is ignored by our custom formatter
-
-        assertEquals("Custom Formatter Output", sb.toString());
+        try {
+            StringBuilder sb = new StringBuilder();
+            factory.format(null, sb); // Event is ignored by our custom formatter
+
+            assertEquals("Custom Formatter Output", sb.toString());
+        } finally {
+            MaskLogEventFactory.FORMATTER = previous;
+        }
     }
 
     @Test
@@ -113,4 +122,32 @@ public class MaskLogEventFactoryTest {
 
         assertEquals(expected, sb.toString());
     }
+
+    @Test
+    public void testMaskFilesScanMatchesRegex() {
+        Set<com.google.re2j.Pattern> defaults = MaskLogEventFactory.FILE_PATTERNS;
+        // same matches written differently, so maskFiles runs them as regular expressions
+        Set<com.google.re2j.Pattern> regexes = new LinkedHashSet<>();
+        for (com.google.re2j.Pattern p : defaults) {
+            regexes.add(com.google.re2j.Pattern.compile("(?:" + p.pattern() + ")"));
+        }
+        String[] pieces = { "0123456789abcdef", "ABCDEFxyz+/", "=", "==", "====", " ", "<", "\u00e9" };
+        Random random = new Random(7);
+        for (int i = 0; i < 200; i++) {
+            StringBuilder input = new StringBuilder();
+            while (input.length() < 4000) {
+                String piece = pieces[random.nextInt(pieces.length)];
+                int repeat = piece.length() > 2 && random.nextBoolean() ? 20 + random.nextInt(120) : 1;
+                input.append(piece.repeat(repeat));
+            }
+            String scanned = MaskLogEventFactory.maskFiles(input.toString());
+            MaskLogEventFactory.FILE_PATTERNS = regexes;
+            try {
+                assertEquals(MaskLogEventFactory.maskFiles(input.toString()), scanned);
+            } finally {
+                MaskLogEventFactory.FILE_PATTERNS = defaults;
+            }
+        }
+        assertEquals("x <TOO BIG:1003> y", MaskLogEventFactory.maskFiles("x " + "Az".repeat(500) + "=== y"));
+    }
 }
@@ -0,0 +1,70 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 BreninSul
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package files.logging;
+
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.apache.logging.log4j.util.SortedArrayStringMap;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class MaskedContextMapPatternConverterTest {
+
+    private LogEvent event() {
+        SortedArrayStringMap contextData = new SortedArrayStringMap();
+        contextData.putValue("requestId", "r-1");
+        contextData.putValue("session_id", "s-secret");
+        contextData.putValue("token", "t-secret");
+        return Log4jLogEvent.newBuilder()
+                .setMessage(new SimpleMessage("msg"))
+                .setContextData(contextData)
+                .build();
+    }
+
+    private String format(String... options) {
+        StringBuilder sb = new StringBuilder();
+        MaskedContextMapPatternConverter.newInstance(options).format(event(), sb);
+        return sb.toString();
+    }
+
+    @Test
+    public void testFullMap() {
+        assertEquals("{requestId=r-1, session_id=<MASKED>, token=<MASKED>}", format());
+    }
+
+    @Test
+    public void testSingleKey() {
+        assertEquals("<MASKED>", format("token"));
+        assertEquals("r-1", format("requestId"));
+        assertEquals("", format("missing"));
+    }
+
+    @Test
+    public void testSelectedKeys() {
+        assertEquals("{requestId=r-1, token=<MASKED>}", format("requestId, token"));
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 BreninSul
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package files.logging;
+
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.core.layout.PatternLayout;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MaskedThrowablePatternConverterTest {
+
+    private String format(Throwable thrown, String... options) {
+        LogEvent event = Log4jLogEvent.newBuilder()
+                .setMessage(new SimpleMessage("msg"))
+                .setThrown(thrown)
+                .build();
+        StringBuilder sb = new StringBuilder();
+        MaskedThrowablePatternConverter.newInstance(options).format(event, sb);
+        return sb.toString();
+    }
+
+    @Test
+    public void testMasksMessageAndCause() {
+        Exception cause = new IllegalStateException("body {\"password\": \"hidden\"}");
+        Exception thrown = new RuntimeException("GET http://foo.com?api_key=abc failed", cause);
+
+        String output = format(thrown);
+
+        assertTrue(output.startsWith(
+                "java.lang.RuntimeException: GET http://foo.com?api_key=<MASKED> failed" + System.lineSeparator()),
+                output);
+        assertTrue(output.contains("Caused by: java.lang.IllegalStateException: body {\"password\": \"<MASKED>\"}"),
+                output);
+        assertTrue(output.contains("\tat "), output);
+        assertFalse(output.contains("abc"), output);
+        assertFalse(output.contains("hidden"), output);
+    }
+
+    @Test
+    public void testMaskedMessageIsMemoised() {
+        Exception thrown = new RuntimeException("token=abc");
+
+        String first = MaskedThrowablePatternConverter.maskedMessage(thrown);
+        String second = MaskedThrowablePatternConverter.maskedMessage(thrown);
+
+        assertEquals("token=<MASKED>", first);
+        assertSame(first, second);
+    }
+
+    @Test
+    public void testOptions() {
+        Exception thrown = new RuntimeException("secret=abc");
+
+        assertEquals("", format(thrown, "none"));
+        assertEquals("java.lang.RuntimeException: secret=<MASKED>" + System.lineSeparator(), format(thrown, "short"));
+        assertEquals(3, format(thrown, "3").split(System.lineSeparator()).length);
+    }
+
+    @Test
+    public void testFiltersAndSeparatorOptions() {
+        Exception thrown = new RuntimeException("token=abc");
+
+        String output = format(thrown, "full", "filters(org.junit,java.)", "separator(|)");
+
+        assertTrue(output.startsWith("java.lang.RuntimeException: token=<MASKED>|\tat files.logging."), output);
+        assertTrue(output.contains("\t... suppressed "), output);
+        assertFalse(output.contains("at org.junit"), output);
+        assertFalse(output.contains(System.lineSeparator()), output);
+    }
+
+    @Test
+    public void testRootCauseFirst() {
+        Exception cause = new IllegalStateException("password=hidden");
+        Exception thrown = new RuntimeException("wrapper", cause);
+        LogEvent event = Log4jLogEvent.newBuilder()
+                .setMessage(new SimpleMessage("msg"))
+                .setThrown(thrown)
+                .build();
+        StringBuilder sb = new StringBuilder();
+
+        MaskedRootThrowablePatternConverter.newInstance(new String[0]).format(event, sb);
+
+        String output = sb.toString();
+        assertTrue(output.startsWith("java.lang.IllegalStateException: password=<MASKED>"), output);
+        assertTrue(output.contains("Wrapped by: java.lang.RuntimeException: wrapper"), output);
+        assertFalse(output.contains("Caused by:"), output);
+    }
+
+    @Test
+    public void testReplacesLayoutConverters() {
+        Exception thrown = new RuntimeException("token=abc", new IllegalStateException("cause"));
+        LogEvent event = Log4jLogEvent.newBuilder()
+                .setMessage(new SimpleMessage("msg"))
+                .setThrown(thrown)
+                .build();
+
+        for (String pattern : new String[] {"%m %ex", "%m %xEx", "%m %rEx", "%m"}) {
+            String output = PatternLayout.newBuilder().withPattern(pattern).build().toSerializable(event);
+
+            assertTrue(output.contains("token=<MASKED>"), pattern + ": " + output);
+            assertFalse(output.contains("abc"), pattern + ": " + output);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 BreninSul
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package files.logging;
+
+import org.apache.logging.log4j.layout.template.json.util.JsonReader;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MaskingDefaultsTest {
+
+    private static final String METADATA = "META-INF/native-image/io.github.breninsul/log4j2-masking-factory/";
+
+    private static String resource(String name) throws IOException {
+        try (InputStream in = MaskingDefaultsTest.class.getClassLoader().getResourceAsStream(name)) {
+            assertNotNull(in, name);
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    @Test
+    public void testDefaultMaskersShareTheDefaultTables() {
+        assertSame(MaskingDefaults.KEYS, MaskingKeys.of(MaskLogEventFactory.JSON_FIELDS));
+        assertSame(MaskingDefaults.CONTEXT_KEYS, MaskingKeys.of(MaskLogEventFactory.CONTEXT_FIELDS));
+        assertEquals(MaskingDefaults.FIELDS, MaskLogEventFactory.URI_FIELDS);
+        assertEquals(MaskingDefaults.FILE_SIZE, MaskLogEventFactory.MAX_LOGGING_FILE_SIZE);
+    }
+
+    @Test
+    public void testCompileBuildsEverything() {
+        MaskingDefaults.compile();
+
+        assertTrue(MaskingDefaults.FILE_PATTERNS.isCompiled());
+        assertTrue(MaskingDefaults.SENSITIVE_PATTERNS.isCompiled());
+        assertTrue(MaskingDefaults.KEYS.isCompiled());
+        assertTrue(MaskingDefaults.CONTEXT_KEYS.isCompiled());
+        assertTrue(MaskingDefaults.FILE_PATTERNS.isPristine());
+        assertFalse(MaskingDefaults.isImageBuildTime());
+    }
+
+    @Test
+    public void testImageBuildCompilesWhenClassIsInitialised() throws Exception {
+        List<String> lines = StartupBenchmark.run(
+                Arrays.asList("-Xlog:class+load", "-Dorg.graalvm.nativeimage.imagecode=buildtime"),
+                List.of());
+
+        String step = null;
+        for (String line : lines) {
+            if (line.startsWith(StartupBenchmark.STEP_MARKER)) {
+                step = line.substring(StartupBenchmark.STEP_MARKER.length());
+            } else if (line.contains(" com.google.re2j.Pattern ")) {
+                break;
+            }
+        }
+        assertEquals("class init", step, String.join("\n", lines));
+    }
+
+    @Test
+    public void testNativeImageMetadata() throws Exception {
+        Properties properties = new Properties();
+        properties.load(new StringReader(resource(METADATA + "native-image.properties")));
+        String args = properties.getProperty("Args");
+        String prefix = "--initialize-at-build-time=";
+        assertTrue(args.startsWith(prefix), args);
+        for (String name : args.substring(prefix.length()).split(",")) {
+            Class.forName(name, false, getClass().getClassLoader());
+        }
+
+        for (Object entry : (List<?>) JsonReader.read(resource(METADATA + "reflect-config.json"))) {
+            Class<?> type = Class.forName((String) ((Map<?, ?>) entry).get("name"));
+            assertNotNull(type.getDeclaredConstructor());
+        }
+        Map<?, ?> resources = (Map<?, ?>) ((Map<?, ?>) JsonReader.read(resource(METADATA + "resource-config.json")))
+                .get("resources");
+        assertFalse(((List<?>) resources.get("includes")).isEmpty());
+        resource("META-INF/org/apache/logging/log4j/core/config/plugins/Log4j2Plugins.dat");
+        assertTrue(resource("META-INF/native-image/log4j-generated/io.github.breninsul/log4j2-masking-factory/"
+                + "reflect-config.json").contains("files.logging.MaskLogEventFactory"));
+    }
+}
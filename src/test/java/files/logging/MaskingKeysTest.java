@@ -0,0 +1,116 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 BreninSul
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package files.logging;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MaskingKeysTest {
+
+    @Test
+    public void testNormalisedLookup() {
+        MaskingKeys keys = new MaskingKeys(Arrays.asList("password", "api_key"));
+
+        assertTrue(keys.contains("Password"));
+        assertTrue(keys.contains("PASSWORD"));
+        assertTrue(keys.contains("API-KEY"));
+        assertTrue(keys.contains("apiKey"));
+        assertTrue(keys.contains("ApiKey"));
+        assertFalse(keys.contains("api"));
+        assertFalse(keys.contains("passwords"));
+        assertFalse(keys.contains(""));
+        assertFalse(keys.contains(null));
+    }
+
+    @Test
+    public void testRegionLookup() {
+        MaskingKeys keys = new MaskingKeys(Arrays.asList("token"));
+        String text = "{\"Token\": 1}";
+
+        assertTrue(keys.contains(text, 2, 7));
+        assertFalse(keys.contains(text, 1, 7));
+        assertTrue(keys.endsWithKey("x?access_token", 0, 14));
+        assertFalse(keys.endsWithKey("x?token_value", 0, 13));
+    }
+
+    @Test
+    public void testRegexMetacharactersInKeys() {
+        MaskingKeys keys = new MaskingKeys(Arrays.asList("user.pass(word)", "a+b", "[x]"));
+
+        assertTrue(keys.contains("user.pass(word)"));
+        assertTrue(keys.contains("A+B"));
+        assertTrue(keys.contains("[x]"));
+        assertFalse(keys.contains("userXpass(word)"));
+
+        HttpRegexJsonBodyMasking masking = new HttpRegexJsonBodyMasking(Arrays.asList("a+b", "[x]"));
+        assertEquals("{\"a+b\": \"<MASKED>\", \"aab\": \"v\", \"[x]\": <MASKED>}",
+                masking.mask("{\"a+b\": \"v\", \"aab\": \"v\", \"[x]\": 1}"));
+    }
+
+    @Test
+    public void testThousandsOfKeys() {
+        List<String> fields = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            fields.add("schema_field_" + i);
+        }
+        MaskingKeys keys = new MaskingKeys(fields);
+
+        assertEquals(5000, keys.size());
+        assertTrue(keys.contains("schemaField4999"));
+        assertTrue(keys.contains("SCHEMA-FIELD-0"));
+        assertFalse(keys.contains("schema_field_5000"));
+
+        HttpRegexJsonBodyMasking masking = new HttpRegexJsonBodyMasking(fields);
+        assertEquals("{\"SchemaField17\": \"<MASKED>\", \"other\": \"v\"}",
+                masking.mask("{\"SchemaField17\": \"secret\", \"other\": \"v\"}"));
+    }
+
+    @Test
+    public void testEqualKeySetsShareOneTable() {
+        List<String> fields = Arrays.asList("password", "token");
+        MaskingKeys keys = MaskingKeys.of(fields);
+
+        assertSame(keys, MaskingKeys.of(new java.util.HashSet<>(Arrays.asList("token", "password"))));
+        assertNotSame(keys, MaskingKeys.of(Arrays.asList("password")));
+        assertSame(new HttpRegexUriMasking(fields).keys, new HttpRegexFormBodyMasking(fields).keys);
+        assertTrue(keys.contains("Token"));
+    }
+
+    @Test
+    public void testKeysAreCopiedBeforeTheTableIsBuilt() {
+        List<String> fields = new ArrayList<>(Arrays.asList("password"));
+        MaskingKeys keys = new MaskingKeys(fields);
+        fields.add("token");
+
+        assertFalse(keys.contains("token"));
+        assertTrue(keys.contains("password"));
+        assertEquals(1, keys.size());
+    }
+}
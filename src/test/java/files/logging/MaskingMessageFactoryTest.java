@@ -0,0 +1,244 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 BreninSul
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package files.logging;
+
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.async.AsyncLoggerContext;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.message.AsynchronouslyFormattable;
+import org.apache.logging.log4j.message.Message;
+import org.apache.logging.log4j.message.ReusableMessage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MaskingMessageFactoryTest {
+
+    @TempDir
+    Path dir;
+
+    private final MaskingMessageFactory factory = new MaskingMessageFactory();
+
+    /** A value whose rendering records the rendering thread. */
+    static final class Recorded {
+        static final Set<String> THREADS = ConcurrentHashMap.newKeySet();
+
+        @Override
+        public String toString() {
+            THREADS.add(Thread.currentThread().getName());
+            return "recorded";
+        }
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void testFormatsAndMasksWhenRendered() {
+        Message message = factory.newMessage("Response {} in {} ms", "{\"password\": \"secret\"}", 12);
+
+        assertTrue(message instanceof DeferredMaskedMessage);
+        assertEquals("Response {\"password\": \"<MASKED>\"} in 12 ms", message.getFormattedMessage());
+        assertSame(message.getFormattedMessage(), message.getFormattedMessage());
+        assertEquals("Response {} in {} ms", message.getFormat());
+    }
+
+    @Test
+    public void testIsFormattedInBackground() {
+        Message message = factory.newMessage("value {}", 1);
+
+        assertTrue(message.getClass().isAnnotationPresent(AsynchronouslyFormattable.class));
+        assertFalse(message instanceof ReusableMessage);
+    }
+
+    @Test
+    public void testSnapshotsOnlyMutableParameters() {
+        String text = "text";
+        Instant instant = Instant.EPOCH;
+        StringBuilder mutable = new StringBuilder("before");
+        List<String> list = new ArrayList<>(Collections.singletonList("a"));
+
+        Message message = factory.newMessage("{} {} {} {}", text, instant, mutable, list);
+        mutable.setLength(0);
+        mutable.append("after");
+        list.add("b");
+
+        Object[] parameters = message.getParameters();
+        assertSame(text, parameters[0]);
+        assertSame(instant, parameters[1]);
+        assertEquals("before", parameters[2]);
+        assertEquals("[a]", parameters[3]);
+        assertEquals("text 1970-01-01T00:00:00Z before [a]", message.getFormattedMessage());
+    }
+
+    @Test
+    public void testCopiesParametersArrayEvenWhenAllImmutable() {
+        Object[] params = {"a", 1, 2L, TimeUnit.SECONDS};
+        Object[] snapshot = factory.snapshot(params);
+        params[0] = "reused";
+
+        assertNotSame(params, snapshot);
+        assertArrayEquals(new Object[] {"a", 1, 2L, TimeUnit.SECONDS}, snapshot);
+        assertNotSame(params, factory.snapshot(new Object[] {"a", new StringBuilder("b")}));
+    }
+
+    @Test
+    public void testSnapshotsCharSequenceAndObjectMessages() {
+        StringBuilder text = new StringBuilder("password=secret");
+        Message charSequence = factory.newMessage((CharSequence) text);
+        Message object = factory.newMessage((Object) text);
+        text.setLength(0);
+
+        assertEquals("password=<MASKED>", charSequence.getFormattedMessage());
+        assertEquals("password=<MASKED>", object.getFormattedMessage());
+    }
+
+    @Test
+    public void testKeepsThrowable() {
+        IllegalStateException failure = new IllegalStateException("failed");
+
+        Message message = factory.newMessage("call {} failed", "x", failure);
+
+        assertSame(failure, message.getThrowable());
+        assertSame(failure, message.getParameters()[1]);
+        assertEquals("call x failed", message.getFormattedMessage());
+    }
+
+    @Test
+    public void testCustomImmutableTypesAreNotRendered() {
+        Recorded recorded = new Recorded();
+        MaskingMessageFactory custom = new MaskingMessageFactory(Collections.singleton(Recorded.class));
+
+        assertSame(recorded, custom.newMessage("{}", recorded).getParameters()[0]);
+        assertEquals("recorded", factory.newMessage("{}", recorded).getParameters()[0]);
+    }
+
+    @Test
+    public void testConverterDoesNotMaskTwice() {
+        HttpBodyMasking previous = MaskLogEventFactory.ruleMasking;
+        MaskLogEventFactory.ruleMasking = new MaskingRules(Collections.singletonList(
+                new MaskingRule("double", "(ab)", 1, "abab")));
+        try {
+            Message message = factory.newMessage("value {}", "ab");
+            LogEvent event = Log4jLogEvent.newBuilder().setMessage(message).build();
+            StringBuilder output = new StringBuilder();
+
+            MaskLogEventFactory.formatAndMaskLog(event, output);
+
+            assertEquals("value abab", output.toString());
+        } finally {
+            MaskLogEventFactory.ruleMasking = previous;
+        }
+    }
+
+    @Test
+    public void testSerializesMaskedText() throws Exception {
+        Message message = factory.newMessage("login {}", "password=secret");
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(message);
+        }
+
+        assertFalse(new String(bytes.toByteArray(), StandardCharsets.ISO_8859_1).contains("secret"));
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            assertEquals("login password=<MASKED>", ((Message) in.readObject()).getFormattedMessage());
+        }
+    }
+
+    @Test
+    public void testAsyncLoggerFormatsAndMasksOffCallerThread() throws Exception {
+        Set<String> maskingThreads = ConcurrentHashMap.newKeySet();
+        HttpBodyMasking previous = MaskLogEventFactory.ruleMasking;
+        MaskLogEventFactory.ruleMasking = new HttpBodyMasking() {
+            @Override
+            public String mask(String body) {
+                maskingThreads.add(Thread.currentThread().getName());
+                return body;
+            }
+
+            @Override
+            public HttpBodyType type() {
+                return HttpBodyType.OTHER;
+            }
+        };
+        Recorded.THREADS.clear();
+        System.setProperty(LoggingLoadHarness.DIR_PROPERTY, dir.toString());
+        AsyncLoggerContext context = new AsyncLoggerContext("deferred-test", null,
+                getClass().getClassLoader().getResource(LoggingLoadHarness.CONFIG).toURI());
+        context.start();
+        try {
+            Logger logger = context.getLogger("files.logging.deferred",
+                    new MaskingMessageFactory(Collections.singleton(Recorded.class)));
+            for (int i = 0; i < 100; i++) {
+                logger.info("Request {} with {} and {}", i, "{\"password\": \"pw" + i + "\"}", new Recorded());
+            }
+        } finally {
+            context.stop(30, TimeUnit.SECONDS);
+            MaskLogEventFactory.ruleMasking = previous;
+        }
+
+        String caller = Thread.currentThread().getName();
+        assertFalse(maskingThreads.isEmpty());
+        assertFalse(maskingThreads.contains(caller), maskingThreads.toString());
+        assertFalse(Recorded.THREADS.contains(caller), Recorded.THREADS.toString());
+        String log = new String(Files.readAllBytes(dir.resolve("load.log")), StandardCharsets.UTF_8);
+        assertEquals(100, log.split("\n").length);
+        assertTrue(log.contains("Request 99 with {\"password\": \"<MASKED>\"} and recorded"));
+        assertFalse(log.contains("\"pw"));
+    }
+
+    @Test
+    public void testBenchmarkRunLogsEveryEvent() throws Exception {
+        String[] messages = {"Form password=pw1&remember=true", "Order 1 shipped"};
+
+        LoggingLoadHarness.Result result = DeferredMaskingBenchmark.run(factory, true, messages, 200, dir);
+
+        assertEquals(200, result.events());
+        String log = new String(Files.readAllBytes(dir.resolve("load.log")), StandardCharsets.UTF_8);
+        assertEquals(200, log.split("\n").length);
+        assertTrue(log.contains("password=<MASKED>"));
+        assertFalse(log.contains("pw1"));
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 BreninSul
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package files.logging;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class MaskingOutputStreamTest {
+
+    @Test
+    public void testMaskUtf8BytesSplitInsideCharacters() throws IOException {
+        StringBuilder input = new StringBuilder();
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            input.append("n\u00e9v=Zo\u00eb").append(i).append("&password=\u043f\u0430\u0440\u043e\u043b\u044c").append(i).append("&\u20ac=1\n");
+            expected.append("n\u00e9v=Zo\u00eb").append(i).append("&password=<MASKED>&\u20ac=1\n");
+        }
+        byte[] bytes = input.toString().getBytes(StandardCharsets.UTF_8);
+        HttpBodyMasking masking = new HttpRegexFormBodyMasking(Collections.singleton("password"));
+        ByteArrayOutputStream target = new ByteArrayOutputStream();
+        try (MaskingOutputStream out = new MaskingOutputStream(target, StandardCharsets.UTF_8, masking::mask, 128)) {
+            for (int i = 0; i < bytes.length; i += 5) {
+                out.write(bytes, i, Math.min(5, bytes.length - i));
+            }
+        }
+
+        assertEquals(expected.toString(), new String(target.toByteArray(), StandardCharsets.UTF_8));
+    }
+}
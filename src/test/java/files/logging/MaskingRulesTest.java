@@ -0,0 +1,81 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 BreninSul
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package files.logging;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class MaskingRulesTest {
+
+    @Test
+    public void testRulesAreAppliedInOneScanAndCounted() {
+        MaskingRule iban = new MaskingRule("iban", "\\b[A-Z]{2}\\d{2}[A-Z0-9]{11,30}\\b", 0, "<IBAN:{length}>");
+        MaskingRule pin = new MaskingRule("pin", "(?i)pin[:=](\\d{4,6})", 1, "<MASKED>");
+        MaskingRule phone = new MaskingRule("phone", "(\\+\\d{1,3})[ -]?(\\d{3})[ -]?(\\d{4,7})", 3, "$1/{rule}/***");
+        MaskingRule never = MaskingRule.of("never", "NEVER_MATCHES_[0-9]+");
+        MaskingRules rules = new MaskingRules(Arrays.asList(iban, pin, phone, never));
+
+        String masked = rules.mask("pay DE89370400440532013000 PIN=1234 call +49 151 1234567, pin:987654");
+
+        assertEquals("pay <IBAN:22> PIN=<MASKED> call +49 151 +49/phone/***, pin:<MASKED>", masked);
+        Map<String, Long> hits = rules.hits();
+        assertEquals(1L, hits.get("iban"));
+        assertEquals(2L, hits.get("pin"));
+        assertEquals(1L, hits.get("phone"));
+        assertEquals(Collections.singletonList(never), rules.unmatched());
+    }
+
+    @Test
+    public void testEmptyRulesAndInvalidGroups() {
+        MaskingRules empty = new MaskingRules(Collections.emptyList());
+        String message = "nothing to do";
+
+        assertSame(message, empty.mask(message));
+        assertEquals(0, empty.triggers());
+        assertThrows(IllegalArgumentException.class, () -> new MaskingRule("bad", "a(b)", 2, "x"));
+        assertThrows(IllegalArgumentException.class, () -> new MaskingRule("bad", "a(b)", 1, "$3"));
+    }
+
+    @Test
+    public void testRulesRunInMaskText() {
+        HttpBodyMasking saved = MaskLogEventFactory.ruleMasking;
+        List<MaskingRule> custom = Collections.singletonList(MaskingRule.of("ssn", "\\b\\d{3}-\\d{2}-\\d{4}\\b"));
+        try {
+            MaskLogEventFactory.ruleMasking = new MaskingRules(custom);
+
+            assertEquals("ssn <MASKED> password=<MASKED>", MaskLogEventFactory.maskText("ssn 123-45-6789 password=x"));
+        } finally {
+            MaskLogEventFactory.ruleMasking = saved;
+        }
+    }
+}
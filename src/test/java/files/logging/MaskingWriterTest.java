@@ -0,0 +1,145 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 BreninSul
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package files.logging;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MaskingWriterTest {
+
+    private final HttpBodyMasking masking = new HttpRegexJsonBodyMasking(Arrays.asList("password", "token"));
+
+    private static String body(int records, boolean masked) {
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < records; i++) {
+            body.append("{\"id\": ").append(i)
+                    .append(", \"password\": \"").append(masked ? "<MASKED>" : "secret-" + i)
+                    .append("\", \"name\": \"user ").append(i).append("\"}\n");
+        }
+        return body.toString();
+    }
+
+    @Test
+    public void testMaskKeysAndValuesSplitBetweenChunks() throws IOException {
+        String input = body(300, false);
+        StringWriter target = new StringWriter();
+        try (MaskingWriter writer = new MaskingWriter(target, masking::mask, 64)) {
+            for (int i = 0; i < input.length(); i += 7) {
+                writer.write(input, i, Math.min(7, input.length() - i));
+            }
+        }
+
+        assertEquals(body(300, true), target.toString());
+    }
+
+    @Test
+    public void testEmitsIncrementallyWithBoundedCarryOver() throws IOException {
+        String input = body(300, false);
+        StringWriter target = new StringWriter();
+        MaskingWriter writer = new MaskingWriter(target, masking::mask, 64);
+        for (char c : input.toCharArray()) {
+            writer.write(c);
+        }
+        String expected = body(300, true);
+        int emitted = target.getBuffer().length();
+        assertTrue(emitted > 0);
+        assertTrue(expected.length() - emitted < 64 * 3, "carry-over is bounded by the window");
+        assertEquals(expected.substring(0, emitted), target.toString());
+        assertFalse(target.toString().contains("secret"));
+        writer.close();
+
+        assertEquals(expected, target.toString());
+        assertThrows(IOException.class, () -> writer.write('x'));
+    }
+
+    @Test
+    public void testValueLongerThanWindowIsNotSplit() throws IOException {
+        String input = "{\"id\": 1, \"password\": \"" + "hunter2 ".repeat(40) + "\", \"name\": \"user\"} ".repeat(20);
+        StringWriter target = new StringWriter();
+        try (MaskingWriter writer = new MaskingWriter(target, masking::mask, 64)) {
+            writer.write(input);
+        }
+
+        assertEquals(masking.mask(input), target.toString());
+    }
+
+    @Test
+    public void testValueLongerThanPendingTextIsMaskedWhole() throws IOException {
+        String input = "{\"id\": 1}, {\"password\": \"" + "hunter2 ".repeat(100) + "\"}, {\"name\": \"user\"}";
+        StringWriter target = new StringWriter();
+        try (MaskingWriter writer = new MaskingWriter(target, masking::mask, 64)) {
+            writer.write(input);
+        }
+
+        assertEquals("{\"id\": 1}, <MASKED>, {\"name\": \"user\"}", target.toString());
+    }
+
+    @Test
+    public void testSensitiveContainerIsMaskedAsWhenWrittenWhole() throws IOException {
+        StringBuilder value = new StringBuilder();
+        for (int j = 0; j < 20; j++) {
+            value.append(j > 0 ? ", " : "").append("\"p").append(j).append("\": \"SECRET").append(j).append('"');
+        }
+        String input = ("{\"id\": 1, \"password\": {" + value + "}}\n").repeat(10);
+        StringWriter target = new StringWriter();
+        try (MaskingWriter writer = new MaskingWriter(target, MaskLogEventFactory::maskText, 64)) {
+            writer.write(input);
+        }
+
+        assertEquals(MaskLogEventFactory.maskText(input), target.toString());
+        assertFalse(target.toString().contains("SECRET"));
+    }
+
+    @Test
+    public void testContainerLongerThanPendingTextIsMaskedWhole() throws IOException {
+        String input = "{\"id\": 1}\n{\"password\": [" + "\"SECRET\", ".repeat(100) + "\"SECRET\"]}\n{\"name\": \"user\"}";
+        StringWriter target = new StringWriter();
+        try (MaskingWriter writer = new MaskingWriter(target, masking::mask, 64)) {
+            writer.write(input);
+        }
+
+        assertEquals("{\"id\": 1}\n<MASKED>{\"name\": \"user\"}", target.toString());
+    }
+
+    @Test
+    public void testShortBodyIsMaskedOnClose() throws IOException {
+        StringWriter target = new StringWriter();
+        try (MaskingWriter writer = new MaskingWriter(target, masking)) {
+            writer.write("{\"token\": \"abc\"}");
+            writer.flush();
+            assertEquals("", target.toString());
+        }
+
+        assertEquals("{\"token\": \"<MASKED>\"}", target.toString());
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 BreninSul
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package files.logging;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ParallelMaskingTest {
+
+    private final ParallelMasking masking = new ParallelMasking(10_000, 4096, 512, 4);
+
+    @AfterEach
+    public void tearDown() {
+        masking.shutdown();
+    }
+
+    private static String payload(int records) {
+        Random random = new Random(42);
+        StringBuilder payload = new StringBuilder("Bulk export: [");
+        for (int i = 0; i < records; i++) {
+            if (i > 0) {
+                payload.append(", ");
+            }
+            String secret = Long.toString(random.nextLong() & Long.MAX_VALUE, 36);
+            switch (i % 4) {
+                case 0:
+                    payload.append("{\"id\": ").append(i).append(", \"password\": \"").append(secret).append("\"}");
+                    break;
+                case 1:
+                    payload.append("{\"url\": \"/cb?code=1&access_token=").append(secret).append("&x=").append(i).append("\"}");
+                    break;
+                case 2:
+                    payload.append("{\"payload\": \"{\\\"token\\\": \\\"").append(secret).append("\\\"}\"}");
+                    break;
+                default:
+                    payload.append("{\"note\": \"").append("lorem ipsum ".repeat(random.nextInt(20))).append("\"}");
+            }
+        }
+        return payload.append(']').toString();
+    }
+
+    @Test
+    public void testParallelResultEqualsSequential() {
+        String message = payload(5000);
+
+        assertTrue(masking.supports(message));
+        assertEquals(MaskLogEventFactory.maskText(message), masking.mask(message, MaskLogEventFactory::maskText));
+    }
+
+    @Test
+    public void testValuesLongerThanOverlapAreNotCut() {
+        String secret = "hunter2 ".repeat(250);
+        StringBuilder message = new StringBuilder();
+        while (message.length() < 20_000) {
+            message.append("{\"password\": \"").append(secret).append("\"} ")
+                    .append("<password>").append(secret).append("</password> ");
+        }
+        String masked = masking.mask(message.toString(), MaskLogEventFactory::maskText);
+
+        assertEquals(MaskLogEventFactory.maskText(message.toString()), masked);
+        assertFalse(masked.contains("hunter2"));
+    }
+
+    @Test
+    public void testSensitiveContainersAcrossChunkBoundaryAreMasked() {
+        StringBuilder message = new StringBuilder();
+        for (int i = 0; message.length() < 40_000; i++) {
+            message.append("{\"id\":").append(i).append(",\"password\":{");
+            for (int j = 0; j < 100; j++) {
+                message.append(j > 0 ? "," : "").append("\"p").append(j).append("\":\"SECRET").append(j).append('"');
+            }
+            message.append("}} <password>");
+            for (int j = 0; j < 100; j++) {
+                message.append("<p").append(j).append(">SECRET").append(j).append("</p").append(j).append("> ");
+            }
+            message.append("</password> ");
+        }
+        String masked = masking.mask(message.toString(), MaskLogEventFactory::maskText);
+
+        assertEquals(MaskLogEventFactory.maskText(message.toString()), masked);
+        assertFalse(masked.contains("SECRET"));
+    }
+
+    @Test
+    public void testSmallMessagesStaySequential() {
+        String message = "{\"password\": \"secret\"}";
+
+        assertFalse(masking.supports(message));
+        assertFalse(masking.supports(null));
+        assertEquals("{\"password\": \"<MASKED>\"}", masking.mask(message, MaskLogEventFactory::maskText));
+    }
+}
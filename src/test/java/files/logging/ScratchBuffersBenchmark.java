@@ -0,0 +1,158 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 BreninSul
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package files.logging;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Masks the {@link LoggingLoadHarness} message mix from many small tasks on platform threads
+ * and, when the runtime has them (Java 21+), on one virtual thread per task, with the
+ * default maskers using {@link ScratchBuffers#shared()} and {@link ScratchBuffers#none()}.
+ * Reports masks/s and bytes allocated per mask, summed over all threads.
+ * <pre>
+ * gradle scratchBenchmark --args="[--tasks N] [--per-task N]"
+ * </pre>
+ */
+public class ScratchBuffersBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int tasks = 20_000;
+        int perTask = 50;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (args[i].equals("--tasks")) {
+                tasks = Integer.parseInt(args[i + 1]);
+            } else if (args[i].equals("--per-task")) {
+                perTask = Integer.parseInt(args[i + 1]);
+            }
+        }
+        String[] messages = mix();
+        List<String> modes = new ArrayList<>();
+        modes.add("platform");
+        if (virtualThreads() != null) {
+            modes.add("virtual");
+        } else {
+            System.out.println("virtual threads need Java 21+, measuring platform threads only");
+        }
+        for (String mode : modes) {
+            ExecutorService executor = "virtual".equals(mode) ? virtualThreads() : platformThreads();
+            try {
+                for (ScratchBuffers buffers : new ScratchBuffers[] {ScratchBuffers.none(), ScratchBuffers.shared()}) {
+                    use(buffers);
+                    run(executor, messages, tasks / 4, perTask);
+                    long[] result = run(executor, messages, tasks, perTask);
+                    long masks = (long) tasks * perTask;
+                    System.out.printf(Locale.ROOT, "%-8s %-6s %.0f masks/s, %s%n", mode,
+                            buffers == ScratchBuffers.none() ? "none" : "pooled", masks / (result[0] / 1e9),
+                            result[1] < 0 ? "allocation not measurable"
+                                    : String.format(Locale.ROOT, "%.0f B/mask", (double) result[1] / masks));
+                }
+            } finally {
+                executor.shutdown();
+                executor.awaitTermination(1, TimeUnit.MINUTES);
+            }
+        }
+    }
+
+    private static String[] mix() {
+        LoggingLoadHarness harness = new LoggingLoadHarness();
+        List<String> mix = new ArrayList<>();
+        for (String[] kind : harness.messages) {
+            for (int i = 0; i < 8; i++) {
+                mix.add(kind[i]);
+            }
+        }
+        return mix.toArray(new String[0]);
+    }
+
+    /** Replaces the default maskers by ones using {@code buffers}. */
+    static void use(ScratchBuffers buffers) {
+        MaskLogEventFactory.scratchBuffers = buffers;
+        HttpRegexUriMasking uri = new HttpRegexUriMasking(MaskLogEventFactory.URI_FIELDS);
+        uri.buffers = buffers;
+        MaskLogEventFactory.uriMasking = uri;
+        HttpRegexJsonBodyMasking json = new HttpRegexJsonBodyMasking(MaskLogEventFactory.JSON_FIELDS);
+        json.buffers = buffers;
+        MaskLogEventFactory.jsonMasking = json;
+        HttpRegexFormBodyMasking form = new HttpRegexFormBodyMasking(MaskLogEventFactory.FORM_FIELDS);
+        form.buffers = buffers;
+        MaskLogEventFactory.formMasking = form;
+        HttpMultipartBodyMasking multipart = new HttpMultipartBodyMasking(MaskLogEventFactory.FORM_FIELDS);
+        multipart.buffers = buffers;
+        MaskLogEventFactory.multipartMasking = multipart;
+        HttpXmlBodyMasking xml = new HttpXmlBodyMasking(MaskLogEventFactory.XML_FIELDS);
+        xml.buffers = buffers;
+        MaskLogEventFactory.xmlMasking = xml;
+    }
+
+    /** Runs the tasks and returns the elapsed nanoseconds and the bytes allocated, or -1. */
+    static long[] run(ExecutorService executor, String[] messages, int tasks, int perTask) throws Exception {
+        Map<Long, Long> before = LoggingLoadHarness.allocatedByThread();
+        long start = System.nanoTime();
+        List<Future<?>> futures = new ArrayList<>(tasks);
+        for (int t = 0; t < tasks; t++) {
+            int offset = t;
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < perTask; i++) {
+                    MaskLogEventFactory.maskText(messages[(offset + i) % messages.length]);
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        long nanos = System.nanoTime() - start;
+        long allocated = 0;
+        for (Map.Entry<Long, Long> entry : LoggingLoadHarness.allocatedByThread().entrySet()) {
+            allocated += entry.getValue() - before.getOrDefault(entry.getKey(), 0L);
+        }
+        return new long[] {nanos, LoggingLoadHarness.allocationSupported() ? allocated : -1};
+    }
+
+    private static ExecutorService platformThreads() {
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) Executors.newFixedThreadPool(
+                Runtime.getRuntime().availableProcessors());
+        executor.prestartAllCoreThreads();
+        return executor;
+    }
+
+    /** One virtual thread per task, or null before Java 21. */
+    static ExecutorService virtualThreads() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 BreninSul
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package files.logging;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ScratchBuffersTest {
+
+    @Test
+    public void testBuffersAreReused() {
+        ScratchBuffers buffers = new ScratchBuffers(4, 1024, 1024);
+        StringBuilder builder = buffers.builder(16);
+        builder.append("secret");
+        assertEquals("secret", buffers.finish(builder));
+
+        StringBuilder again = buffers.builder(32);
+        assertSame(builder, again);
+        assertEquals(0, again.length());
+
+        long[] longs = buffers.longs(8);
+        longs[3] = 42;
+        buffers.release(longs);
+        long[] cleared = buffers.longs(8);
+        assertSame(longs, cleared);
+        assertEquals(0, cleared[3]);
+
+        int[] ints = buffers.ints(8);
+        buffers.release(ints);
+        assertSame(ints, buffers.ints(4));
+        assertNotSame(ints, buffers.ints(4));
+    }
+
+    @Test
+    public void testOversizedBuffersAreDropped() {
+        ScratchBuffers buffers = new ScratchBuffers(4, 64, 64);
+        StringBuilder builder = buffers.builder(128);
+        buffers.release(builder);
+        assertNotSame(builder, buffers.builder(16));
+
+        char[] chars = new char[65];
+        buffers.release(chars);
+        assertNotSame(chars, buffers.chars(1));
+
+        long[] small = buffers.longs(4);
+        buffers.release(small);
+        long[] large = buffers.longs(16);
+        assertNotSame(small, large);
+        assertEquals(16, large.length);
+    }
+
+    @Test
+    public void testNoneKeepsNothing() {
+        ScratchBuffers none = ScratchBuffers.none();
+        StringBuilder builder = none.builder(16);
+        none.release(builder);
+        assertNotSame(builder, none.builder(16));
+        int[] ints = none.ints(4);
+        none.release(ints);
+        assertNotSame(ints, none.ints(4));
+    }
+
+    @Test
+    public void testBufferIsNeverHandedOutTwice() throws Exception {
+        ScratchBuffers buffers = new ScratchBuffers(2, 1024, 1024);
+        Set<StringBuilder> inUse = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+        AtomicBoolean shared = new AtomicBoolean();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 20_000; i++) {
+                        StringBuilder builder = buffers.builder(16);
+                        if (!inUse.add(builder)) {
+                            shared.set(true);
+                        }
+                        builder.append(i);
+                        inUse.remove(builder);
+                        buffers.release(builder);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+        assertFalse(shared.get());
+    }
+
+    @Test
+    public void testMaskingResultsDoNotShareBuffers() {
+        HttpRegexJsonBodyMasking json = new HttpRegexJsonBodyMasking(Collections.singleton("password"));
+        json.buffers = new ScratchBuffers(1, 1024, 1024);
+        String first = json.mask("{\"password\": \"a\", \"x\": 1}");
+        String second = json.mask("{\"password\": \"bb\"}");
+
+        assertEquals("{\"password\": \"<MASKED>\", \"x\": 1}", first);
+        assertEquals("{\"password\": \"<MASKED>\"}", second);
+        String text = "id=1&token=abc <SensitiveData>0a0b</SensitiveData> {\"password\":\"x\"}";
+        assertEquals(MaskLogEventFactory.maskText(text), MaskLogEventFactory.maskText(text));
+        assertTrue(MaskLogEventFactory.maskText(text).contains("token=<MASKED>"));
+    }
+
+    @Test
+    public void testVirtualThreadsWhenAvailable() throws Exception {
+        ExecutorService executor = ScratchBuffersBenchmark.virtualThreads();
+        if (executor == null) {
+            return;
+        }
+        try {
+            List<Future<String>> futures = new ArrayList<>();
+            for (int t = 0; t < 1000; t++) {
+                futures.add(executor.submit(() -> MaskLogEventFactory.maskText("a=1&password=secret")));
+            }
+            for (Future<String> future : futures) {
+                assertEquals("a=1&password=<MASKED>", future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
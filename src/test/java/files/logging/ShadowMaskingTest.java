@@ -0,0 +1,215 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 BreninSul
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package files.logging;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ShadowMaskingTest {
+
+    private ShadowMasking shadow;
+
+    @AfterEach
+    public void tearDown() {
+        if (shadow != null) {
+            shadow.shutdown();
+        }
+    }
+
+    @Test
+    public void testEqualCandidateHasNoDivergences() throws InterruptedException {
+        HttpRegexJsonBodyMasking json = new HttpRegexJsonBodyMasking(MaskLogEventFactory.JSON_FIELDS);
+        shadow = new ShadowMasking(json, new HttpRegexJsonBodyMasking(MaskLogEventFactory.JSON_FIELDS), 1.0);
+
+        for (int i = 0; i < 100; i++) {
+            String message = "{\"id\": " + i + ", \"password\": \"secret" + i + "\"}";
+            assertEquals(json.mask(message), shadow.mask(message));
+        }
+
+        assertTrue(shadow.awaitIdle(10, TimeUnit.SECONDS));
+        assertEquals(100, shadow.sampled());
+        assertEquals(100, shadow.compared() + shadow.dropped());
+        assertEquals(0, shadow.divergences());
+        assertTrue(shadow.recentDivergences().isEmpty());
+        assertTrue(shadow.primaryNanos() > 0);
+        assertTrue(shadow.candidateNanos() > 0);
+        assertTrue(shadow.relativeTime() > 0);
+    }
+
+    @Test
+    public void testDivergencesAreRedacted() throws InterruptedException {
+        shadow = new ShadowMasking(new HttpRegexJsonBodyMasking(MaskLogEventFactory.JSON_FIELDS)::mask, message -> message,
+                HttpBodyType.JSON, TriggerScanner.ANY, 1.0, 16);
+
+        String masked = shadow.mask("{\"password\": \"Hunter42\"}");
+
+        assertEquals("{\"password\": \"<MASKED>\"}", masked);
+        assertTrue(shadow.awaitIdle(10, TimeUnit.SECONDS));
+        assertEquals(1, shadow.divergences());
+        List<ShadowMasking.Divergence> divergences = shadow.recentDivergences();
+        assertEquals(1, divergences.size());
+        ShadowMasking.Divergence divergence = divergences.get(0);
+        assertEquals(14, divergence.offset);
+        assertEquals(masked.length(), divergence.primaryLength);
+        assertEquals("{\"xxxxxxxx\": \"<xxxxxx>\"}", divergence.primary);
+        assertEquals("{\"xxxxxxxx\": \"xxxxxx99\"}", divergence.candidate);
+        assertFalse(divergence.toString().contains("Hunter42"));
+        assertFalse(shadow.toString().contains("Hunter42"));
+    }
+
+    @Test
+    public void testKeepsOnlyLatestDivergences() throws InterruptedException {
+        shadow = new ShadowMasking(message -> message, message -> message + "!",
+                HttpBodyType.OTHER, TriggerScanner.ANY, 1.0, 1024);
+
+        for (int i = 0; i < ShadowMasking.MAX_DIVERGENCES * 2; i++) {
+            shadow.mask("message " + i);
+        }
+
+        assertTrue(shadow.awaitIdle(10, TimeUnit.SECONDS));
+        assertEquals(ShadowMasking.MAX_DIVERGENCES * 2, shadow.divergences() + shadow.dropped());
+        assertTrue(shadow.recentDivergences().size() <= ShadowMasking.MAX_DIVERGENCES);
+    }
+
+    @Test
+    public void testZeroSampleRateNeverRunsCandidate() {
+        AtomicInteger calls = new AtomicInteger();
+        shadow = new ShadowMasking(message -> message, message -> {
+            calls.incrementAndGet();
+            return message;
+        }, HttpBodyType.OTHER, TriggerScanner.ANY, 0, 16);
+
+        for (int i = 0; i < 1000; i++) {
+            shadow.mask("message");
+        }
+
+        assertEquals(0, shadow.sampled());
+        assertEquals(0, calls.get());
+    }
+
+    @Test
+    public void testFullQueueDropsWithoutBlocking() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        shadow = new ShadowMasking(message -> message, message -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return message;
+        }, HttpBodyType.OTHER, TriggerScanner.ANY, 1.0, 4);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 100; i++) {
+            assertEquals("message " + i, shadow.mask("message " + i));
+        }
+        long elapsed = System.nanoTime() - start;
+        release.countDown();
+
+        assertTrue(elapsed < TimeUnit.SECONDS.toNanos(5), "mask blocked on the candidate");
+        assertTrue(shadow.awaitIdle(10, TimeUnit.SECONDS));
+        assertEquals(100, shadow.sampled());
+        assertTrue(shadow.dropped() >= 100 - 5, "dropped " + shadow.dropped());
+        assertEquals(100, shadow.compared() + shadow.dropped());
+    }
+
+    @Test
+    public void testShutdownReleasesQueuedSamples() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        shadow = new ShadowMasking(message -> message, message -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return message;
+        }, HttpBodyType.OTHER, TriggerScanner.ANY, 1.0, 4);
+
+        for (int i = 0; i < 4; i++) {
+            shadow.mask("message " + i);
+        }
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        shadow.shutdown();
+
+        assertTrue(shadow.awaitIdle(10, TimeUnit.SECONDS));
+        assertEquals(4, shadow.compared() + shadow.dropped());
+    }
+
+    @Test
+    public void testCandidateFailureIsCounted() throws InterruptedException {
+        shadow = new ShadowMasking(message -> message, message -> {
+            throw new IllegalStateException(message);
+        }, HttpBodyType.OTHER, TriggerScanner.ANY, 1.0, 16);
+
+        assertEquals("message", shadow.mask("message"));
+
+        assertTrue(shadow.awaitIdle(10, TimeUnit.SECONDS));
+        assertEquals(1, shadow.failures());
+        assertEquals(0, shadow.compared());
+    }
+
+    @Test
+    public void testTriggersAreUnion() {
+        HttpUriMasking uri = new HttpRegexUriMasking(MaskLogEventFactory.URI_FIELDS);
+        HttpUriMasking any = message -> message;
+
+        assertEquals(uri.triggers(), new ShadowMasking(uri, new HttpRegexUriMasking(MaskLogEventFactory.URI_FIELDS), 0).triggers());
+        assertEquals(TriggerScanner.ANY, new ShadowMasking(uri, any, 0).triggers());
+        assertEquals(HttpBodyType.JSON,
+                new ShadowMasking(new HttpRegexJsonBodyMasking(MaskLogEventFactory.JSON_FIELDS), new HttpRegexJsonBodyMasking(MaskLogEventFactory.JSON_FIELDS), 0).type());
+        assertThrows(IllegalArgumentException.class,
+                () -> new ShadowMasking(uri, uri, 1.5));
+    }
+
+    @Test
+    public void testAsFactoryStage() throws InterruptedException {
+        HttpBodyMasking previous = MaskLogEventFactory.jsonMasking;
+        String message = "Request {\"password\": \"secret\"}";
+        String expected = MaskLogEventFactory.maskText(message);
+        try {
+            shadow = new ShadowMasking(previous, new HttpAllowListJsonBodyMasking(Collections.singleton("id")), 1.0);
+            MaskLogEventFactory.jsonMasking = shadow;
+
+            assertEquals(expected, MaskLogEventFactory.maskText(message));
+        } finally {
+            MaskLogEventFactory.jsonMasking = previous;
+        }
+        assertTrue(shadow.awaitIdle(10, TimeUnit.SECONDS));
+        assertEquals(1, shadow.sampled());
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 BreninSul
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package files.logging;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class SqlLiteralMaskingTest {
+
+    private static final List<String> FIELDS = Arrays.asList("password", "api_key", "token", "pin");
+
+    private final SqlLiteralMasking masking = new SqlLiteralMasking(FIELDS);
+
+    @Test
+    public void testMasksAssignedAndComparedLiterals() {
+        assertEquals("UPDATE users SET password='<MASKED>', name='bob' WHERE api_key = '<MASKED>' AND id = 7",
+                masking.mask("UPDATE users SET password='s3cret', name='bob' WHERE api_key = 'k-123' AND id = 7"));
+        assertEquals("select * from users u where u.password <> '<MASKED>' and pin>=<MASKED> or pin != <MASKED>",
+                masking.mask("select * from users u where u.password <> 'x' and pin>=1234 or pin != 5.5e3"));
+    }
+
+    @Test
+    public void testMasksInListsLikeAndBetween() {
+        assertEquals("SELECT 1 FROM t WHERE token IN ('<MASKED>', '<MASKED>') AND id IN (1, 2)",
+                masking.mask("SELECT 1 FROM t WHERE token IN ('a', 'b') AND id IN (1, 2)"));
+        assertEquals("SELECT 1 FROM t WHERE password NOT LIKE '<MASKED>' AND name LIKE 'a%'",
+                masking.mask("SELECT 1 FROM t WHERE password NOT LIKE 'abc%' AND name LIKE 'a%'"));
+        assertEquals("SELECT 1 FROM t WHERE pin BETWEEN <MASKED> AND <MASKED> AND id = 3",
+                masking.mask("SELECT 1 FROM t WHERE pin BETWEEN 1000 AND 9999 AND id = 3"));
+    }
+
+    @Test
+    public void testMasksWholeExpression() {
+        assertEquals("UPDATE t SET password = lower('<MASKED>' || '<MASKED>'), id = 1",
+                masking.mask("UPDATE t SET password = lower('Ab' || 'Cd'), id = 1"));
+    }
+
+    @Test
+    public void testHandlesEscapedQuotes() {
+        assertEquals("UPDATE t SET password='<MASKED>', name='O''Brien' WHERE token='<MASKED>'",
+                masking.mask("UPDATE t SET password='it''s, secret', name='O''Brien' WHERE token='a\\'b'"));
+        assertEquals("UPDATE t SET password=N'<MASKED>', note='x'",
+                masking.mask("UPDATE t SET password=N'p\u00e4ss', note='x'"));
+    }
+
+    @Test
+    public void testQuotedIdentifiersAndMysqlStrings() {
+        assertEquals("UPDATE `users` SET `password` = \"<MASKED>\" WHERE \"users\".\"api_key\" = '<MASKED>'",
+                masking.mask("UPDATE `users` SET `password` = \"pw\" WHERE \"users\".\"api_key\" = 'k'"));
+    }
+
+    @Test
+    public void testMatchesInsertColumnsWithValues() {
+        assertEquals("INSERT INTO users (name, password, pin) VALUES ('bob', '<MASKED>', <MASKED>), "
+                        + "('amy', '<MASKED>', <MASKED>)",
+                masking.mask("INSERT INTO users (name, password, pin) VALUES ('bob', 'pw1', 1111), ('amy', 'pw2', 2222)"));
+        assertEquals("INSERT INTO t (id, token) VALUES (1, concat('<MASKED>', '<MASKED>')) "
+                        + "ON DUPLICATE KEY UPDATE token = '<MASKED>', id = 2",
+                masking.mask("INSERT INTO t (id, token) VALUES (1, concat('a', 'b')) "
+                        + "ON DUPLICATE KEY UPDATE token = 'c', id = 2"));
+    }
+
+    @Test
+    public void testIgnoresComments() {
+        assertEquals("SELECT 1 -- password = 'x'\nFROM t WHERE /* token='y' */ id = 'z'",
+                masking.mask("SELECT 1 -- password = 'x'\nFROM t WHERE /* token='y' */ id = 'z'"));
+    }
+
+    @Test
+    public void testMaskAllLiterals() {
+        SqlLiteralMasking all = new SqlLiteralMasking(FIELDS, true);
+
+        assertEquals("SELECT * FROM t WHERE name = '<MASKED>' AND id IN (<MASKED>, <MASKED>) LIMIT <MASKED>",
+                all.mask("SELECT * FROM t WHERE name = 'bob' AND id IN (1, 2) LIMIT 10"));
+    }
+
+    @Test
+    public void testSkipsTextWithoutStatementKeyword() {
+        String text = "password = 'x' but no statement keyword; selection updated";
+
+        assertSame(text, masking.mask(text));
+        assertEquals(-1, SqlLiteralMasking.statementStart(text));
+        assertEquals(10, SqlLiteralMasking.statementStart("Executing UPDATE t SET pin = 1"));
+        assertEquals("", masking.mask(null));
+    }
+
+    @Test
+    public void testUnterminatedStringIsMaskedToTheEnd() {
+        assertEquals("UPDATE t SET password = '<MASKED>", masking.mask("UPDATE t SET password = 'abc, id = 1"));
+    }
+
+    @Test
+    public void testFactoryMasksStatementLog() {
+        // the form masker later takes password='<MASKED>' for a form field and drops the quotes
+        assertEquals("Executing: UPDATE users SET password=<MASKED> WHERE api_key = '<MASKED>'",
+                MaskLogEventFactory.maskText("Executing: UPDATE users SET password='pass word' WHERE api_key = 'k'"));
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 BreninSul
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package files.logging;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Cold-start benchmark: every run is a fresh JVM that loads {@link MaskLogEventFactory} and
+ * masks its first plain, JSON and {@code SensitiveData} messages, timing each step; the
+ * median of each step over the runs is reported.
+ * <pre>
+ * gradle startupBenchmark --args="[--runs N] [--reassign]"
+ * </pre>
+ * {@code --reassign} replaces the maskers right after class initialisation, as the README
+ * suggests doing at startup.
+ */
+public class StartupBenchmark {
+    public static final String CHILD = "--child";
+    public static final String REASSIGN = "--reassign";
+    public static final String STEP_MARKER = "== ";
+
+    public static void main(String[] args) throws Exception {
+        List<String> options = Arrays.asList(args);
+        if (options.contains(CHILD)) {
+            child(options.contains(REASSIGN));
+            return;
+        }
+        int runs = 10;
+        int index = options.indexOf("--runs");
+        if (index >= 0 && index + 1 < options.size()) {
+            runs = Integer.parseInt(options.get(index + 1));
+        }
+        List<String> childArgs = options.contains(REASSIGN) ? Collections.singletonList(REASSIGN)
+                : Collections.emptyList();
+        Map<String, List<Long>> times = new LinkedHashMap<>();
+        for (int run = 0; run < runs; run++) {
+            for (String line : run(Collections.emptyList(), childArgs)) {
+                int colon = line.lastIndexOf(": ");
+                if (!line.startsWith(STEP_MARKER) && colon > 0) {
+                    times.computeIfAbsent(line.substring(0, colon), step -> new ArrayList<>())
+                            .add(Long.parseLong(line.substring(colon + 2)));
+                }
+            }
+        }
+        for (Map.Entry<String, List<Long>> step : times.entrySet()) {
+            List<Long> nanos = step.getValue();
+            Collections.sort(nanos);
+            System.out.printf(Locale.ROOT, "%-12s median %.2f ms over %d runs%n",
+                    step.getKey(), nanos.get(nanos.size() / 2) / 1e6, nanos.size());
+        }
+    }
+
+    /**
+     * Runs one measurement in a fresh JVM with the given JVM options and returns its output lines:
+     * a {@code "== step"} marker before each step and {@code "step: nanos"} after it.
+     */
+    public static List<String> run(List<String> jvmOptions, List<String> args) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        command.addAll(jvmOptions);
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(StartupBenchmark.class.getName());
+        command.add(CHILD);
+        command.addAll(args);
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        List<String> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+        }
+        int exitCode = process.waitFor();
+        if (exitCode != 0) {
+            throw new IllegalStateException("Benchmark JVM exited with code " + exitCode + ":\n" + String.join("\n", lines));
+        }
+        return lines;
+    }
+
+    private static void child(boolean reassign) throws ClassNotFoundException {
+        step("class init", () -> Class.forName("files.logging.MaskLogEventFactory"));
+        if (reassign) {
+            step("reassign", () -> {
+                MaskLogEventFactory.uriMasking = new HttpRegexUriMasking(Set.of("token", "custom_param"));
+                MaskLogEventFactory.jsonMasking = new HttpRegexJsonBodyMasking(Set.of("password", "cvv"));
+                MaskLogEventFactory.formMasking = new HttpRegexFormBodyMasking(Set.of("secret", "ssn"));
+                return null;
+            });
+        }
+        step("plain", () -> MaskLogEventFactory.maskText("Order 42 shipped to warehouse 7"));
+        step("json", () -> MaskLogEventFactory.maskText("Response {\"id\":1,\"password\":\"secret\"}"));
+        step("sensitive", () -> MaskLogEventFactory.maskText("Card <SensitiveData>0a0b0c</SensitiveData>"));
+    }
+
+    private interface Step {
+        Object run() throws ClassNotFoundException;
+    }
+
+    private static void step(String name, Step step) throws ClassNotFoundException {
+        System.out.println(STEP_MARKER + name);
+        long start = System.nanoTime();
+        step.run();
+        System.out.println(name + ": " + (System.nanoTime() - start));
+    }
+}
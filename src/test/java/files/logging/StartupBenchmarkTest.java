@@ -0,0 +1,67 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 BreninSul
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package files.logging;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StartupBenchmarkTest {
+
+    /** Step during which the class was first loaded, or null if it never was. */
+    private static String loadedDuring(List<String> lines, String className) {
+        String step = null;
+        for (String line : lines) {
+            if (line.startsWith(StartupBenchmark.STEP_MARKER)) {
+                step = line.substring(StartupBenchmark.STEP_MARKER.length());
+            } else if (line.contains(" " + className + " ")) {
+                return step;
+            }
+        }
+        return null;
+    }
+
+    @Test
+    public void testRegexEngineIsLoadedOnlyForSensitiveData() throws Exception {
+        List<String> lines = StartupBenchmark.run(Collections.singletonList("-Xlog:class+load"),
+                Collections.emptyList());
+
+        assertEquals("sensitive", loadedDuring(lines, "com.google.re2j.Pattern"), String.join("\n", lines));
+        assertTrue(lines.stream().anyMatch(line -> line.startsWith("sensitive: ")));
+    }
+
+    @Test
+    public void testReplacingMaskersAtStartupLoadsNoRegexEngine() throws Exception {
+        List<String> lines = StartupBenchmark.run(Collections.singletonList("-Xlog:class+load"),
+                Collections.singletonList(StartupBenchmark.REASSIGN));
+
+        assertEquals("sensitive", loadedDuring(lines, "com.google.re2j.Pattern"), String.join("\n", lines));
+        assertTrue(lines.stream().anyMatch(line -> line.startsWith("reassign: ")));
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 BreninSul
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package files.logging;
+
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.message.MapMessage;
+import org.apache.logging.log4j.message.Message;
+import org.apache.logging.log4j.message.ObjectMessage;
+import org.apache.logging.log4j.message.StringMapMessage;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StructuredMessageMaskingTest {
+
+    @Test
+    public void testMaskStringMapMessage() {
+        StructuredMessageMasking masking = new StructuredMessageMasking(Arrays.asList("password", "token"));
+        StringMapMessage message = new StringMapMessage()
+                .with("user", "bren")
+                .with("password", "secret123")
+                .with("token", "abc");
+
+        Message masked = masking.mask(message);
+
+        assertTrue(masked instanceof StringMapMessage);
+        StringMapMessage maskedMap = (StringMapMessage) masked;
+        assertEquals("bren", maskedMap.get("user"));
+        assertEquals("<MASKED>", maskedMap.get("password"));
+        assertEquals("<MASKED>", maskedMap.get("token"));
+        // the original message is left untouched
+        assertEquals("secret123", message.get("password"));
+    }
+
+    @Test
+    public void testMaskEmbeddedValue() {
+        StructuredMessageMasking masking = new StructuredMessageMasking(Arrays.asList("password"));
+        MapMessage<?, Object> message = new MapMessage<>();
+        message.with("url", "http://foo.com?token=123");
+        message.with("count", 5);
+
+        MapMessage<?, ?> masked = (MapMessage<?, ?>) masking.mask(message);
+
+        assertEquals("http://foo.com?token=<MASKED>", masked.get("url"));
+        assertEquals("5", masked.get("count"));
+    }
+
+    @Test
+    public void testMaskObjectMessageWithMap() {
+        StructuredMessageMasking masking = new StructuredMessageMasking(Arrays.asList("secret"));
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("id", 1);
+        data.put("secret", "value");
+
+        Message masked = masking.mask(new ObjectMessage(data));
+
+        assertEquals("{id=1, secret=<MASKED>}", masked.getFormattedMessage());
+        assertFalse(masking.supports(new ObjectMessage("plain")));
+    }
+
+    @Test
+    public void testMaskNestedValues() {
+        StructuredMessageMasking masking = new StructuredMessageMasking(Arrays.asList("password", "token"));
+        Map<String, Object> card = new LinkedHashMap<>();
+        card.put("holder", "bren");
+        card.put("password", "secret123");
+        Object bean = new Object() {
+            @Override
+            public String toString() {
+                return "Session token=abc";
+            }
+        };
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("card", card);
+        data.put("token", Arrays.asList("a", "b"));
+        data.put("items", Arrays.asList(card, bean, 7));
+
+        Message masked = masking.mask(new ObjectMessage(data));
+
+        assertEquals("{card={holder=bren, password=<MASKED>}, token=<MASKED>,"
+                + " items=[{holder=bren, password=<MASKED>}, Session token=<MASKED>, 7]}", masked.getFormattedMessage());
+        assertEquals("secret123", card.get("password"));
+    }
+
+    @Test
+    public void testFactoryFormatsMapMessage() {
+        LogEvent event = Log4jLogEvent.newBuilder()
+                .setMessage(new StringMapMessage().with("password", "secret123").with("user", "bren"))
+                .build();
+
+        StringBuilder sb = new StringBuilder();
+        MaskLogEventFactory.formatAndMaskLog(event, sb);
+
+        assertTrue(sb.toString().contains("password=\"<MASKED>\""), sb.toString());
+        assertTrue(sb.toString().contains("user=\"bren\""), sb.toString());
+    }
+
+    @Test
+    public void testRewritePolicy() {
+        LogEvent event = Log4jLogEvent.newBuilder()
+                .setMessage(new StringMapMessage().with("token", "abc"))
+                .build();
+
+        LogEvent rewritten = MaskingRewritePolicy.createPolicy().rewrite(event);
+
+        assertEquals("<MASKED>", ((StringMapMessage) rewritten.getMessage()).get("token"));
+        LogEvent plain = Log4jLogEvent.newBuilder().setMessage(new ObjectMessage("text")).build();
+        assertSame(plain, MaskingRewritePolicy.createPolicy().rewrite(plain));
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 BreninSul
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package files.logging;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TriggerScannerTest {
+
+    private static final String ALPHABET = "aZ09+/=\"<{[&}] -:\u00e9\u20ac\uD83D\uDE00\uFF1D";
+
+    @Test
+    public void testScalarScan() {
+        TriggerScanner.Triggers triggers = TriggerScanner.scalar().scan("GET /a?x=1&token=abcdef0123 {\"k\":[1]}");
+
+        assertTrue(triggers.has(TriggerScanner.EQUALS | TriggerScanner.QUOTE));
+        assertTrue(triggers.has(TriggerScanner.AMPERSAND));
+        assertFalse(triggers.has(TriggerScanner.LESS_THAN));
+        assertEquals(10, triggers.longestRun());
+        assertEquals(TriggerScanner.QUOTE | TriggerScanner.EQUALS | TriggerScanner.AMPERSAND
+                | TriggerScanner.BRACE | TriggerScanner.BRACKET, triggers.kinds());
+    }
+
+    @Test
+    public void testVectorScanMatchesScalar() {
+        TriggerScanner vector = TriggerScanner.get();
+        // the tests run with the module, so the separately compiled scanner must be found
+        assertTrue(vector.isVectorized());
+        Random random = new Random(7);
+        for (int round = 0; round < 500; round++) {
+            StringBuilder text = new StringBuilder();
+            int length = random.nextInt(300);
+            for (int i = 0; i < length; i++) {
+                // long runs now and then, to cross vector boundaries
+                if (random.nextInt(40) == 0) {
+                    text.append("0123456789abcdef".repeat(random.nextInt(10)));
+                }
+                text.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+            }
+            TriggerScanner.Triggers expected = TriggerScanner.scalar().scan(text.toString());
+            TriggerScanner.Triggers actual = vector.scan(text.toString());
+
+            assertEquals(expected.kinds(), actual.kinds());
+            assertEquals(expected.longestRun(), actual.longestRun(), text::toString);
+        }
+    }
+
+    @Test
+    public void testMaskTextIsIdenticalWithAndWithoutScanner() {
+        List<String> messages = Arrays.asList(
+                "plain message without triggers",
+                "GET /login?password=secret&user=bren",
+                "{\"token\": \"abc\", \"n\": 1}",
+                "<SensitiveData>0a0b</SensitiveData>",
+                "prefix 3c53656e736974697665446174613e0a0b3c2f53656e736974697665446174613e",
+                "blob " + "ab".repeat(600),
+                "<soap><password>p</password></soap> and token=x",
+                "--b\nContent-Disposition: form-data; name=\"password\"\n\nsecret\n--b--");
+        TriggerScanner saved = MaskLogEventFactory.triggerScanner;
+        try {
+            for (String message : messages) {
+                MaskLogEventFactory.triggerScanner = null;
+                String expected = MaskLogEventFactory.maskText(message);
+                MaskLogEventFactory.triggerScanner = TriggerScanner.scalar();
+                assertEquals(expected, MaskLogEventFactory.maskText(message));
+                MaskLogEventFactory.triggerScanner = TriggerScanner.get();
+                assertEquals(expected, MaskLogEventFactory.maskText(message));
+            }
+        } finally {
+            MaskLogEventFactory.triggerScanner = saved;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 BreninSul
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package files.logging;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class Utf8MaskingTest {
+
+    private static final List<String> FIELDS = Arrays.asList("password", "token", "api_key");
+
+    private static String maskBytes(Utf8Masking masking, String text, boolean direct) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer src = direct ? ByteBuffer.allocateDirect(bytes.length + 4) : ByteBuffer.allocate(bytes.length + 4);
+        src.position(2);
+        src.put(bytes).flip().position(2);
+        ByteBuffer dst = masking.mask(src);
+        assertEquals(src.limit(), src.position());
+        byte[] out = new byte[dst.remaining()];
+        dst.get(out);
+        return new String(out, StandardCharsets.UTF_8);
+    }
+
+    private static void assertSameAsString(HttpBodyMasking masking, String text) {
+        assertEquals(masking.mask(text), maskBytes((Utf8Masking) masking, text, false));
+        assertEquals(masking.mask(text), maskBytes((Utf8Masking) masking, text, true));
+    }
+
+    @Test
+    public void testJsonBytesMatchStringMasking() {
+        HttpRegexJsonBodyMasking masking = new HttpRegexJsonBodyMasking(FIELDS);
+
+        assertSameAsString(masking, "{\"\u0438\u043c\u044f\": \"\u0417\u043e\u044f\", \"Password\": \"\u043f\u0430\u0440\u043e\u043b\u044c\", \"n\": 1}");
+        assertSameAsString(masking, "{\"token\": 12, \"list\": {\"api-key\": [\"\u043a\u043b\u044e\u0447\", \"\u20ac\"]}, \"x\": true}");
+        assertSameAsString(masking, "{\"payload\":\"{\\\"password\\\":\\\"\u5bc6\u7801\\\"}\"}");
+        assertSameAsString(masking, "no json \uD83D\uDE42 here");
+        assertEquals("{\"password\": \"<MASKED>\"}", maskBytes(masking, "{\"password\": \"\uD83D\uDE00\uD83D\uDE00\"}", false));
+    }
+
+    @Test
+    public void testFormAndUriBytesMatchStringMasking() {
+        HttpRegexFormBodyMasking form = new HttpRegexFormBodyMasking(FIELDS);
+        HttpRegexUriMasking uri = new HttpRegexUriMasking(FIELDS);
+        String body = "n\u00e9v=Zo\u00eb&password=jelsz\u00f3\u20ac&access_token=x&api_key=&empty";
+        String query = "/search?q=\u00fcber&token=\u043a\u043b\u044e\u0447&page=2";
+
+        assertSameAsString(form, body);
+        assertEquals(uri.mask(query), maskBytes(uri, query, false));
+        assertEquals("/search?q=\u00fcber&token=<MASKED>&page=2", maskBytes(uri, query, true));
+    }
+
+    @Test
+    public void testOverflowLeavesSourceUnchanged() {
+        HttpRegexFormBodyMasking form = new HttpRegexFormBodyMasking(FIELDS);
+        ByteBuffer src = ByteBuffer.wrap("password=a".getBytes(StandardCharsets.UTF_8));
+        ByteBuffer dst = ByteBuffer.allocate(12);
+
+        assertThrows(BufferOverflowException.class, () -> form.mask(src, dst));
+        assertEquals(0, src.position());
+        assertEquals(0, dst.position());
+
+        ByteBuffer large = ByteBuffer.allocate(32);
+        form.mask(src, large);
+        assertEquals("password=<MASKED>", new String(large.array(), 0, large.position(), StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 BreninSul
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package files.logging;
+
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link TriggerScanner} on the incubating Vector API. Only loaded by
+ * {@link TriggerScanner#get()} when the {@code jdk.incubator.vector} module is present.
+ * Chars are compared as shorts, so chars from {@code U+8000} up read as negative and
+ * fall outside every range, as they should.
+ */
+final class VectorTriggerScanner extends TriggerScanner {
+    private static final VectorSpecies<Short> SPECIES = ShortVector.SPECIES_PREFERRED;
+
+    @Override
+    public Triggers scan(String text, ScratchBuffers buffers) {
+        int length = text.length();
+        Triggers triggers = new Triggers();
+        char[] chars = buffers.chars(length);
+        text.getChars(0, length, chars, 0);
+        int lanes = SPECIES.length();
+        int bound = SPECIES.loopBound(length);
+        VectorMask<Short> quotes = SPECIES.maskAll(false);
+        VectorMask<Short> equalSigns = quotes;
+        VectorMask<Short> lessThans = quotes;
+        VectorMask<Short> braces = quotes;
+        VectorMask<Short> brackets = quotes;
+        VectorMask<Short> ampersands = quotes;
+        for (int i = 0; i < bound; i += lanes) {
+            ShortVector v = ShortVector.fromCharArray(SPECIES, chars, i);
+            VectorMask<Short> quote = v.eq((short) '"');
+            VectorMask<Short> equals = v.eq((short) '=');
+            VectorMask<Short> lessThan = v.eq((short) '<');
+            VectorMask<Short> brace = v.eq((short) '{');
+            VectorMask<Short> bracket = v.eq((short) '[');
+            VectorMask<Short> ampersand = v.eq((short) '&');
+            VectorMask<Short> any = quote.or(equals).or(lessThan).or(brace).or(bracket).or(ampersand);
+            if (any.anyTrue()) {
+                quotes = quotes.or(quote);
+                equalSigns = equalSigns.or(equals);
+                lessThans = lessThans.or(lessThan);
+                braces = braces.or(brace);
+                brackets = brackets.or(bracket);
+                ampersands = ampersands.or(ampersand);
+            }
+            // setting bit 0x20 folds 'A'..'Z' onto 'a'..'z' and no other char onto them
+            VectorMask<Short> runChars = range(v, '0', '9').or(range(v.or((short) 0x20), 'a', 'z'))
+                    .or(v.eq((short) '+')).or(v.eq((short) '/'));
+            if (runChars.allTrue()) {
+                triggers.run += lanes;
+            } else if (!runChars.anyTrue()) {
+                triggers.endRun();
+            } else {
+                long run = runChars.toLong();
+                // ones in the low lanes continue the current run, ones in the high lanes start the next
+                triggers.run += Long.numberOfTrailingZeros(~run);
+                triggers.endRun();
+                if (Long.bitCount(run) > triggers.longestRun) {
+                    triggers.longestRun = Math.max(triggers.longestRun, longestOnes(run));
+                }
+                triggers.run = Long.numberOfLeadingZeros(~(run << (64 - lanes)));
+            }
+        }
+        triggers.kinds |= (quotes.anyTrue() ? QUOTE : 0) | (equalSigns.anyTrue() ? EQUALS : 0)
+                | (lessThans.anyTrue() ? LESS_THAN : 0) | (braces.anyTrue() ? BRACE : 0)
+                | (brackets.anyTrue() ? BRACKET : 0) | (ampersands.anyTrue() ? AMPERSAND : 0);
+        buffers.release(chars);
+        scanChars(text, bound, triggers);
+        return triggers;
+    }
+
+    @Override
+    public boolean isVectorized() {
+        return true;
+    }
+
+    private static VectorMask<Short> range(ShortVector v, char low, char high) {
+        return v.compare(VectorOperators.GE, (short) low).and(v.compare(VectorOperators.LE, (short) high));
+    }
+
+    private static int longestOnes(long bits) {
+        int count = 0;
+        while (bits != 0) {
+            bits &= bits >>> 1;
+            count++;
+        }
+        return count;
+    }
+}